@@ -4,17 +4,20 @@ import com.se1020.backend.model.Admin;
 import com.se1020.backend.model.User;
 import com.se1020.backend.model.Vendor;
 import com.se1020.backend.model.Couple;
+import com.se1020.backend.repository.store.GroupCommitStats;
 import com.se1020.backend.service.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
-@CrossOrigin(origins = "http://localhost:5173")
+@CrossOrigin(origins = "http://localhost:5173", exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/admin")
 public class AdminController {
@@ -41,8 +44,17 @@ public class AdminController {
 
     // Admin management endpoints
     @GetMapping("/admins")
-    public ResponseEntity<List<Admin>> getAllAdmins() {
+    public ResponseEntity<List<Admin>> getAllAdmins(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getAdminsVersion())) {
+            return null;
+        }
         try {
+            if (CursorPages.requested(limit, after)) {
+                return CursorPages.ok(adminService.getAdminPage(after, CursorPages.limit(limit)));
+            }
             List<Admin> admins = adminService.getAllAdmins();
             return ResponseEntity.ok(admins);
         } catch (IOException e) {
@@ -51,7 +63,10 @@ public class AdminController {
     }
 
     @GetMapping("/admins/{adminId}")
-    public ResponseEntity<Admin> getAdminById(@PathVariable String adminId) {
+    public ResponseEntity<Admin> getAdminById(@PathVariable String adminId, WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getAdminVersion(adminId))) {
+            return null;
+        }
         try {
             Admin admin = adminService.getAdminById(adminId);
             if (admin != null) {
@@ -97,8 +112,17 @@ public class AdminController {
 
     // User management endpoints
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getUsersVersion())) {
+            return null;
+        }
         try {
+            if (CursorPages.requested(limit, after)) {
+                return CursorPages.ok(adminService.getUserPage(after, CursorPages.limit(limit)));
+            }
             List<User> users = adminService.getAllUsers();
             return ResponseEntity.ok(users);
         } catch (IOException e) {
@@ -118,8 +142,17 @@ public class AdminController {
 
     // Vendor management endpoints
     @GetMapping("/vendors")
-    public ResponseEntity<List<Vendor>> getAllVendors() {
+    public ResponseEntity<List<Vendor>> getAllVendors(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getVendorsVersion())) {
+            return null;
+        }
         try {
+            if (CursorPages.requested(limit, after)) {
+                return CursorPages.ok(adminService.getVendorPage(after, CursorPages.limit(limit)));
+            }
             List<Vendor> vendors = adminService.getAllVendors();
             return ResponseEntity.ok(vendors);
         } catch (IOException e) {
@@ -128,7 +161,10 @@ public class AdminController {
     }
 
     @GetMapping("/vendors/{vendorId}")
-    public ResponseEntity<Vendor> getVendorById(@PathVariable String vendorId) {
+    public ResponseEntity<Vendor> getVendorById(@PathVariable String vendorId, WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getVendorVersion(vendorId))) {
+            return null;
+        }
         try {
             Vendor vendor = adminService.getVendorById(vendorId);
             if (vendor != null) {
@@ -173,8 +209,17 @@ public class AdminController {
 
     // Couple management endpoints
     @GetMapping("/couples")
-    public ResponseEntity<List<Couple>> getAllCouples() {
+    public ResponseEntity<List<Couple>> getAllCouples(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getCouplesVersion())) {
+            return null;
+        }
         try {
+            if (CursorPages.requested(limit, after)) {
+                return CursorPages.ok(adminService.getCouplePage(after, CursorPages.limit(limit)));
+            }
             List<Couple> couples = adminService.getAllCouples();
             return ResponseEntity.ok(couples);
         } catch (IOException e) {
@@ -183,7 +228,10 @@ public class AdminController {
     }
 
     @GetMapping("/couples/{coupleId}")
-    public ResponseEntity<Couple> getCoupleById(@PathVariable String coupleId) {
+    public ResponseEntity<Couple> getCoupleById(@PathVariable String coupleId, WebRequest request) {
+        if (ConditionalGets.notModified(request, adminService.getCoupleVersion(coupleId))) {
+            return null;
+        }
         try {
             Couple couple = adminService.getCoupleById(coupleId);
             if (couple != null) {
@@ -216,4 +264,9 @@ public class AdminController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/storage-stats")
+    public ResponseEntity<Map<String, GroupCommitStats>> getStorageStats() {
+        return ResponseEntity.ok(adminService.getStorageStats());
+    }
+}
\ No newline at end of file
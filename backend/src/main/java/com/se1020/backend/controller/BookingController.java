@@ -1,16 +1,23 @@
 package com.se1020.backend.controller;
 
 import com.se1020.backend.model.Booking;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.StaleEntityException;
+import com.se1020.backend.service.BookingConflictException;
 import com.se1020.backend.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
-@CrossOrigin
+@CrossOrigin(exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/booking")
 public class BookingController {
@@ -19,12 +26,62 @@ public class BookingController {
     private BookingService bookingService;
 
     @GetMapping
-    public List<Booking> getAllBookings() throws IOException {
-        return bookingService.getAllBookings();
+    public ResponseEntity<List<Booking>> getAllBookings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, bookingService.getBookingsVersion())) {
+            return null;
+        }
+        if (CursorPages.requested(limit, after)) {
+            return CursorPages.ok(bookingService.getBookingPage(from, to, after, CursorPages.limit(limit)));
+        }
+        return ResponseEntity.ok(bookingService.getBookingsInRange(from, to));
+    }
+
+    @GetMapping("/vendor/{vendorId}")
+    public List<Booking> getBookingsByVendorId(@PathVariable String vendorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request)
+            throws IOException {
+        if (ConditionalGets.notModified(request, bookingService.getBookingsVersion())) {
+            return null;
+        }
+        return bookingService.getBookingsByVendorId(vendorId, from, to);
+    }
+
+    @GetMapping("/couple/{coupleId}")
+    public List<Booking> getBookingsByCoupleId(@PathVariable String coupleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request)
+            throws IOException {
+        if (ConditionalGets.notModified(request, bookingService.getBookingsVersion())) {
+            return null;
+        }
+        return bookingService.getBookingsByCoupleId(coupleId, from, to);
+    }
+
+    @GetMapping("/wedding/{weddingId}")
+    public List<Booking> getBookingsByWeddingId(@PathVariable String weddingId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request)
+            throws IOException {
+        if (ConditionalGets.notModified(request, bookingService.getBookingsVersion())) {
+            return null;
+        }
+        return bookingService.getBookingsByWeddingId(weddingId, from, to);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable String id) throws IOException {
+    public ResponseEntity<Booking> getBookingById(@PathVariable String id, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, bookingService.getBookingVersion(id))) {
+            return null;
+        }
         Booking booking = bookingService.getBookingById(id);
         if (booking != null) {
             return ResponseEntity.ok(booking);
@@ -35,16 +92,33 @@ public class BookingController {
 
     @PostMapping
     public ResponseEntity<Booking> createBooking(@RequestBody Booking booking) throws IOException {
-        bookingService.createBooking(booking);
+        try {
+            bookingService.createBooking(booking);
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(booking);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Booking> updateBooking(@PathVariable String id, @RequestBody Booking booking)
-            throws IOException {
+    public ResponseEntity<Booking> updateBooking(@PathVariable String id, @RequestBody Booking booking,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IOException {
         booking.setBookingId(id);
-        bookingService.updateBooking(booking);
-        return ResponseEntity.ok(booking);
+        EntityVersion expected = null;
+        if (ifMatch != null) {
+            expected = bookingService.getBookingVersion(id);
+            if (!ConditionalWrites.matches(ifMatch, expected)) {
+                return ConditionalWrites.preconditionFailed();
+            }
+        }
+        try {
+            bookingService.updateBooking(booking, expected);
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (StaleEntityException e) {
+            return ConditionalWrites.preconditionFailed();
+        }
+        return ConditionalWrites.updated(booking, bookingService.getBookingVersion(id, booking.getVersion()));
     }
 
     @DeleteMapping("/{id}")
@@ -55,7 +129,11 @@ public class BookingController {
 
     @PutMapping("/{id}/confirm")
     public ResponseEntity<Void> confirmBooking(@PathVariable String id) throws IOException {
-        bookingService.confirmBooking(id);
+        try {
+            bookingService.confirmBooking(id);
+        } catch (BookingConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
         return ResponseEntity.ok().build();
     }
 
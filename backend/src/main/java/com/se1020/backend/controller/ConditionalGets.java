@@ -0,0 +1,25 @@
+package com.se1020.backend.controller;
+
+import com.se1020.backend.repository.store.EntityVersion;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET support for the read endpoints. A response carries the ETag
+ * and Last-Modified of the data it is built from, and a request whose
+ * If-None-Match or If-Modified-Since still matches is answered 304 Not Modified
+ * before any of the body is built.
+ *
+ * Handlers read the version before the data, so a write in between can only
+ * leave a response with an older tag than its body, which costs the client one
+ * extra download, never a stale copy.
+ */
+final class ConditionalGets {
+
+    private ConditionalGets() {
+    }
+
+    // When this is true the 304 is already set up and the handler returns null
+    static boolean notModified(WebRequest request, EntityVersion version) {
+        return version != null && request.checkNotModified(version.getETag(), version.getLastModified());
+    }
+}
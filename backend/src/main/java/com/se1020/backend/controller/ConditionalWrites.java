@@ -0,0 +1,47 @@
+package com.se1020.backend.controller;
+
+import com.se1020.backend.repository.store.EntityVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * If-Match support for the update endpoints. An update sent with If-Match is
+ * only applied while the entity still has one of the listed ETags, as a GET
+ * returned them; otherwise the answer is 412 Precondition Failed and nothing
+ * is written. Without the header an update overwrites as before.
+ *
+ * The header is checked here for a quick answer, and the ETag it matched is
+ * checked again by the store as part of the write, so an update racing in
+ * between is caught too.
+ */
+final class ConditionalWrites {
+
+    private ConditionalWrites() {
+    }
+
+    // "*" matches any stored entity; weak tags never match, as If-Match compares strongly
+    static boolean matches(String ifMatch, EntityVersion current) {
+        if (current == null) {
+            return false;
+        }
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(current.getETag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The version is null when the entity was deleted right after the update
+    static <T> ResponseEntity<T> updated(T body, EntityVersion version) {
+        if (version == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok().eTag(version.getETag()).body(body);
+    }
+
+    static <T> ResponseEntity<T> preconditionFailed() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+}
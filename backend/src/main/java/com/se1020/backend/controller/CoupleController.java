@@ -3,14 +3,16 @@ package com.se1020.backend.controller;
 import com.se1020.backend.model.Couple;
 import com.se1020.backend.service.CoupleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
 
-@CrossOrigin
+@CrossOrigin(exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/couple")
 public class CoupleController {
@@ -19,12 +21,24 @@ public class CoupleController {
     private CoupleService coupleService;
 
     @GetMapping
-    public List<Couple> getAllCouples() throws IOException {
-        return coupleService.getAllCouples();
+    public ResponseEntity<List<Couple>> getAllCouples(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, coupleService.getCouplesVersion())) {
+            return null;
+        }
+        if (CursorPages.requested(limit, after)) {
+            return CursorPages.ok(coupleService.getCouplePage(after, CursorPages.limit(limit)));
+        }
+        return ResponseEntity.ok(coupleService.getAllCouples());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Couple> getCoupleById(@PathVariable String id) throws IOException {
+    public ResponseEntity<Couple> getCoupleById(@PathVariable String id, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, coupleService.getCoupleVersion(id))) {
+            return null;
+        }
         Couple couple = coupleService.getCoupleById(id);
         if (couple != null) {
             return ResponseEntity.ok(couple);
@@ -0,0 +1,37 @@
+package com.se1020.backend.controller;
+
+import com.se1020.backend.repository.store.EntityPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Shared handling of the limit and after parameters of the list endpoints.
+ * A list endpoint called without either keeps returning the whole collection;
+ * with them it returns one page in id order and, unless it is the last page,
+ * the cursor for the next one in the X-Next-Cursor header.
+ */
+final class CursorPages {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private CursorPages() {
+    }
+
+    static boolean requested(Integer limit, String after) {
+        return limit != null || after != null;
+    }
+
+    static int limit(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+    }
+
+    static <T> ResponseEntity<List<T>> ok(EntityPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
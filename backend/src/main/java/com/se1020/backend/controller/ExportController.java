@@ -0,0 +1,44 @@
+package com.se1020.backend.controller;
+
+import com.se1020.backend.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Streaming exports for bulk consumers such as reporting jobs. Each entity
+ * type is served as application/x-ndjson, one entity per line.
+ */
+@CrossOrigin
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping
+    public Set<String> getEntityTypes() {
+        return exportService.getEntityTypes();
+    }
+
+    /**
+     * All entities of one type, or only those written at or after since, an
+     * ISO-8601 instant such as 2025-01-31T00:00:00Z.
+     */
+    @GetMapping("/{entityType}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String entityType,
+            @RequestParam(required = false) Instant since) {
+        if (!exportService.supports(entityType)) {
+            return ResponseEntity.notFound().build();
+        }
+        long modifiedSince = since != null ? since.toEpochMilli() : Long.MIN_VALUE;
+        StreamingResponseBody body = out -> exportService.export(entityType, modifiedSince, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
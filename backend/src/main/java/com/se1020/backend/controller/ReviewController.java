@@ -1,16 +1,19 @@
 package com.se1020.backend.controller;
 
 import com.se1020.backend.model.Review;
+import com.se1020.backend.model.VendorRatingSummary;
 import com.se1020.backend.service.ReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
 
-@CrossOrigin
+@CrossOrigin(exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/review")
 public class ReviewController {
@@ -19,12 +22,24 @@ public class ReviewController {
     private ReviewService reviewService;
 
     @GetMapping
-    public List<Review> getAllReviews() throws IOException {
-        return reviewService.getAllReviews();
+    public ResponseEntity<List<Review>> getAllReviews(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, reviewService.getReviewsVersion())) {
+            return null;
+        }
+        if (CursorPages.requested(limit, after)) {
+            return CursorPages.ok(reviewService.getReviewPage(after, CursorPages.limit(limit)));
+        }
+        return ResponseEntity.ok(reviewService.getAllReviews());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Review> getReviewById(@PathVariable String id) throws IOException {
+    public ResponseEntity<Review> getReviewById(@PathVariable String id, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, reviewService.getReviewVersion(id))) {
+            return null;
+        }
         Review review = reviewService.getReviewById(id);
         if (review != null) {
             return ResponseEntity.ok(review);
@@ -34,12 +49,26 @@ public class ReviewController {
     }
 
     @GetMapping("/vendor/{vendorId}")
-    public List<Review> getReviewsByVendorId(@PathVariable String vendorId) throws IOException {
+    public List<Review> getReviewsByVendorId(@PathVariable String vendorId, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, reviewService.getReviewsVersion())) {
+            return null;
+        }
         return reviewService.getReviewsByVendorId(vendorId);
     }
 
+    @GetMapping("/vendor/{vendorId}/summary")
+    public VendorRatingSummary getVendorRatingSummary(@PathVariable String vendorId, WebRequest request) {
+        if (ConditionalGets.notModified(request, reviewService.getReviewsVersion())) {
+            return null;
+        }
+        return reviewService.getVendorRatingSummary(vendorId);
+    }
+
     @GetMapping("/couple/{coupleId}")
-    public List<Review> getReviewsByCoupleId(@PathVariable String coupleId) throws IOException {
+    public List<Review> getReviewsByCoupleId(@PathVariable String coupleId, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, reviewService.getReviewsVersion())) {
+            return null;
+        }
         return reviewService.getReviewsByCoupleId(coupleId);
     }
 
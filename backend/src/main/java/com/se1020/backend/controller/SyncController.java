@@ -0,0 +1,26 @@
+package com.se1020.backend.controller;
+
+import com.se1020.backend.model.SyncDelta;
+import com.se1020.backend.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Delta sync for offline-capable clients such as the mobile planner. Call it
+ * without since for a full snapshot, then with the returned sequence each time.
+ */
+@CrossOrigin
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @GetMapping
+    public SyncDelta sync(@RequestParam(required = false) Long since) throws IOException {
+        return syncService.sync(since);
+    }
+}
@@ -3,14 +3,16 @@ package com.se1020.backend.controller;
 import com.se1020.backend.model.Task;
 import com.se1020.backend.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
 
-@CrossOrigin
+@CrossOrigin(exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
@@ -19,8 +21,17 @@ public class TaskController {
     private TaskService taskService;
 
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks() {
+    public ResponseEntity<List<Task>> getAllTasks(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, taskService.getTasksVersion())) {
+            return null;
+        }
         try {
+            if (CursorPages.requested(limit, after)) {
+                return CursorPages.ok(taskService.getTaskPage(after, CursorPages.limit(limit)));
+            }
             return ResponseEntity.ok(taskService.getAllTasks());
         } catch (IOException e) {
             return ResponseEntity.internalServerError().build();
@@ -28,7 +39,10 @@ public class TaskController {
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Task>> getPendingTasks() {
+    public ResponseEntity<List<Task>> getPendingTasks(WebRequest request) {
+        if (ConditionalGets.notModified(request, taskService.getTasksVersion())) {
+            return null;
+        }
         try {
             return ResponseEntity.ok(taskService.getPendingTasks());
         } catch (IOException e) {
@@ -37,7 +51,10 @@ public class TaskController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable String id) {
+    public ResponseEntity<Task> getTaskById(@PathVariable String id, WebRequest request) {
+        if (ConditionalGets.notModified(request, taskService.getTaskVersion(id))) {
+            return null;
+        }
         try {
             Task task = taskService.getTaskById(id);
             if (task != null) {
@@ -50,7 +67,10 @@ public class TaskController {
     }
 
     @GetMapping("/wedding/{weddingId}")
-    public ResponseEntity<List<Task>> getTasksByWeddingId(@PathVariable String weddingId) {
+    public ResponseEntity<List<Task>> getTasksByWeddingId(@PathVariable String weddingId, WebRequest request) {
+        if (ConditionalGets.notModified(request, taskService.getTasksVersion())) {
+            return null;
+        }
         try {
             List<Task> tasks = taskService.getTasksByWeddingId(weddingId);
             return ResponseEntity.ok(tasks);
@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
@@ -18,8 +19,17 @@ public class UserController {
     private UserService userService;
 
     @GetMapping
-    public List<User> getAllUsers() throws IOException{
-        return userService.getAllUsers();
+    public ResponseEntity<List<User>> getAllUsers(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, userService.getUsersVersion())) {
+            return null;
+        }
+        if (CursorPages.requested(limit, after)) {
+            return CursorPages.ok(userService.getUserPage(after, CursorPages.limit(limit)));
+        }
+        return ResponseEntity.ok(userService.getAllUsers());
     }
 
     @PostMapping
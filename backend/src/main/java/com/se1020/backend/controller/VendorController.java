@@ -2,18 +2,26 @@ package com.se1020.backend.controller;
 
 import com.se1020.backend.enums.VendorType;
 import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBrowsePage;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.StaleEntityException;
+import com.se1020.backend.service.GeocodingService;
 import com.se1020.backend.service.VendorService;
+import com.se1020.backend.util.geo.GeoPoint;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.List;
 
-@CrossOrigin
+@CrossOrigin(exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 @RestController
 @RequestMapping("/api/vendor")
 public class VendorController {
@@ -21,13 +29,73 @@ public class VendorController {
     @Autowired
     private VendorService vendorService;
 
+    @Autowired
+    private GeocodingService geocodingService;
+
     @GetMapping
-    public List<Vendor> getAllVendors() throws IOException {
-        return vendorService.getAllVendors();
+    public ResponseEntity<List<Vendor>> getAllVendors(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        if (CursorPages.requested(limit, after)) {
+            return CursorPages.ok(vendorService.getVendorPage(after, CursorPages.limit(limit)));
+        }
+        return ResponseEntity.ok(vendorService.getAllVendors());
+    }
+
+    /**
+     * Full-text search over name, business name, type and address. Every word
+     * must match a whole word or the start of one; better ratings rank higher.
+     */
+    @GetMapping("/search")
+    public List<Vendor> searchVendors(@RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        return vendorService.searchVendors(q, limit);
+    }
+
+    /**
+     * Typeahead on vendor and business names, best rated first. At most
+     * ten suggestions are returned.
+     */
+    @GetMapping("/suggest")
+    public List<Vendor> suggestVendors(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        return vendorService.suggestVendors(prefix, limit, fuzzy);
+    }
+
+    @GetMapping("/browse")
+    public VendorBrowsePage browseVendors(
+            @RequestParam(required = false) VendorType type,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        return vendorService.browseVendors(type, status, minPrice, maxPrice, minRating, page, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Vendor> getVendorById(@PathVariable String id) throws IOException {
+    public ResponseEntity<Vendor> getVendorById(@PathVariable String id, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorVersion(id))) {
+            return null;
+        }
         Vendor vendor = vendorService.getVendorById(id);
         if (vendor != null) {
             return ResponseEntity.ok(vendor);
@@ -43,10 +111,22 @@ public class VendorController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Vendor> updateVendor(@PathVariable String id, @RequestBody Vendor vendor) throws IOException {
+    public ResponseEntity<Vendor> updateVendor(@PathVariable String id, @RequestBody Vendor vendor,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IOException {
         vendor.setId(id);
-        vendorService.updateVendor(vendor);
-        return ResponseEntity.ok(vendor);
+        EntityVersion expected = null;
+        if (ifMatch != null) {
+            expected = vendorService.getVendorVersion(id);
+            if (!ConditionalWrites.matches(ifMatch, expected)) {
+                return ConditionalWrites.preconditionFailed();
+            }
+        }
+        try {
+            vendorService.updateVendor(vendor, expected);
+        } catch (StaleEntityException e) {
+            return ConditionalWrites.preconditionFailed();
+        }
+        return ConditionalWrites.updated(vendor, vendorService.getVendorVersion(id, vendor.getVersion()));
     }
 
     @DeleteMapping("/{id}")
@@ -56,20 +136,91 @@ public class VendorController {
     }
 
     @GetMapping("/top-rated")
-    public List<Vendor> getTopRatedVendors() throws IOException {
-        return vendorService.getVendorsSortedByRating();
+    public List<Vendor> getTopRatedVendors(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) VendorType type,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        return vendorService.getTopRatedVendors(limit, type);
+    }
+
+    /**
+     * Approved vendors free on a date, or on every day from "from" to "to".
+     */
+    @GetMapping("/available")
+    public ResponseEntity<List<Vendor>> getAvailableVendors(
+            @RequestParam(required = false) VendorType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            WebRequest request)
+            throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getAvailabilityVersion())) {
+            return null;
+        }
+        LocalDate first = date != null ? date : from;
+        LocalDate last = date != null ? date : (to != null ? to : from);
+        if (first == null || last.isBefore(first)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(vendorService.getAvailableVendors(type, first, last));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Vendors whose service radius covers a point, nearest first. The point is
+     * given as lat and lon, or as an address in a known town.
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<Vendor>> getNearbyVendors(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) VendorType type,
+            WebRequest request) {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        GeoPoint point = lat != null && lon != null ? new GeoPoint(lat, lon) : geocodingService.locate(address);
+        if (point == null || Math.abs(point.getLatitude()) > 90 || Math.abs(point.getLongitude()) > 180) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(vendorService.getNearbyVendors(point, type));
     }
 
     @GetMapping("/price-range")
     public List<Vendor> getVendorsByPriceRange(
             @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice) throws IOException {
+            @RequestParam(required = false) Double maxPrice,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
         return vendorService.getVendorsByPriceRange(minPrice, maxPrice);
     }
 
     @GetMapping("/sorted-by-price")
     public List<Vendor> getVendorsSortedByPrice(
-            @RequestParam(defaultValue = "true") boolean ascending) throws IOException {
+            @RequestParam(defaultValue = "true") boolean ascending,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
         return vendorService.getVendorsSortedByPrice(ascending);
     }
+
+    @GetMapping("/sorted-by-name")
+    public List<Vendor> getVendorsSortedByName(
+            @RequestParam(defaultValue = "true") boolean ascending,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, vendorService.getVendorsVersion())) {
+            return null;
+        }
+        return vendorService.getVendorsSortedByName(ascending);
+    }
 }
@@ -1,17 +1,27 @@
 package com.se1020.backend.controller;
 
 import com.se1020.backend.model.Task;
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBundle;
+import com.se1020.backend.model.VendorRecommendation;
 import com.se1020.backend.model.Wedding;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.StaleEntityException;
+import com.se1020.backend.service.RecommendationService;
 import com.se1020.backend.service.TaskService;
 import com.se1020.backend.service.WeddingService;
+import com.se1020.backend.enums.VendorType;
 import com.se1020.backend.enums.WeddingStyle;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for managing wedding-related operations with support for
@@ -21,7 +31,8 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/wedding")
-@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true",
+        exposedHeaders = {CursorPages.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class WeddingController {
 
     @Autowired
@@ -30,13 +41,28 @@ public class WeddingController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private RecommendationService recommendationService;
+
     @GetMapping
-    public List<Wedding> getAllWeddings() throws IOException {
-        return weddingService.getAllWeddings();
+    public ResponseEntity<List<Wedding>> getAllWeddings(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, weddingService.getWeddingsVersion())) {
+            return null;
+        }
+        if (CursorPages.requested(limit, after)) {
+            return CursorPages.ok(weddingService.getWeddingPage(after, CursorPages.limit(limit)));
+        }
+        return ResponseEntity.ok(weddingService.getAllWeddings());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Wedding> getWeddingById(@PathVariable String id) throws IOException {
+    public ResponseEntity<Wedding> getWeddingById(@PathVariable String id, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, weddingService.getWeddingVersion(id))) {
+            return null;
+        }
         Wedding wedding = weddingService.getWeddingById(id);
         if (wedding != null) {
             return ResponseEntity.ok(wedding);
@@ -45,6 +71,76 @@ public class WeddingController {
         }
     }
 
+    @GetMapping("/couple/{coupleId}")
+    public List<Wedding> getWeddingsByCoupleId(@PathVariable String coupleId, WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, weddingService.getWeddingsVersion())) {
+            return null;
+        }
+        return weddingService.getWeddingsByCoupleId(coupleId);
+    }
+
+    /**
+     * Approved vendors to consider for this wedding, best rated first. By default
+     * only vendors that serve the wedding's location are suggested.
+     */
+    @GetMapping("/{id}/vendor-suggestions")
+    public ResponseEntity<List<Vendor>> getVendorSuggestions(@PathVariable String id,
+            @RequestParam(required = false) VendorType type,
+            @RequestParam(defaultValue = "true") boolean nearby,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, recommendationService.getVersion(id))) {
+            return null;
+        }
+        List<Vendor> vendors = weddingService.getVendorSuggestions(id, type, nearby, limit);
+        if (vendors == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(vendors);
+    }
+
+    /**
+     * The best vendors of each type for this wedding, scored on budget fit,
+     * rating, availability on the wedding day and distance.
+     */
+    @GetMapping("/{id}/recommendations")
+    public ResponseEntity<Map<VendorType, List<VendorRecommendation>>> getRecommendations(@PathVariable String id,
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest request) throws IOException {
+        if (ConditionalGets.notModified(request, recommendationService.getVersion(id))) {
+            return null;
+        }
+        Map<VendorType, List<VendorRecommendation>> recommendations =
+                recommendationService.getRecommendations(id, limit);
+        if (recommendations == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(recommendations);
+    }
+
+    /**
+     * The best-rated bundles of one vendor per type that fit the wedding's
+     * budget, or the given budget. Types default to every vendor type.
+     */
+    @GetMapping("/{id}/bundles")
+    public ResponseEntity<List<VendorBundle>> getBundles(@PathVariable String id,
+            @RequestParam(required = false) List<VendorType> types,
+            @RequestParam(required = false) Double budget,
+            @RequestParam(defaultValue = "5") int limit,
+            WebRequest request) throws IOException {
+        if (limit < 1 || limit > RecommendationService.MAX_BUNDLES) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ConditionalGets.notModified(request, recommendationService.getVersion(id))) {
+            return null;
+        }
+        List<VendorBundle> bundles = recommendationService.getBundles(id, types, budget, limit);
+        if (bundles == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(bundles);
+    }
+
     /**
      * Legacy method for creating a basic wedding
      * 
@@ -103,11 +199,22 @@ public class WeddingController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Wedding> updateWedding(@PathVariable String id, @RequestBody Wedding wedding)
-            throws IOException {
+    public ResponseEntity<Wedding> updateWedding(@PathVariable String id, @RequestBody Wedding wedding,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws IOException {
         wedding.setWeddingId(id);
-        weddingService.updateWedding(wedding);
-        return ResponseEntity.ok(wedding);
+        EntityVersion expected = null;
+        if (ifMatch != null) {
+            expected = weddingService.getWeddingVersion(id);
+            if (!ConditionalWrites.matches(ifMatch, expected)) {
+                return ConditionalWrites.preconditionFailed();
+            }
+        }
+        try {
+            weddingService.updateWedding(wedding, expected);
+        } catch (StaleEntityException e) {
+            return ConditionalWrites.preconditionFailed();
+        }
+        return ConditionalWrites.updated(wedding, weddingService.getWeddingVersion(id, wedding.getVersion()));
     }
 
     @DeleteMapping("/{id}")
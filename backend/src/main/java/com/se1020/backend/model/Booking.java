@@ -20,6 +20,7 @@ public class Booking {
     private Date lastPaymentDate;
     private String paymentMethod;
     private String transactionId;
+    private long version;
 
     public Booking() {
     }
@@ -153,4 +154,12 @@ public class Booking {
     public void cancelBooking() {
         this.status = BookingStatus.CANCELLED;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
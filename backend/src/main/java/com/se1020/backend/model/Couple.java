@@ -10,6 +10,7 @@ public class Couple extends User {
     private Date weddingDate;
     private String partnerId;
     private User partner;
+    private long version;
 
     public Couple(String id, String email, String password, String name, String phone, UserRole role,
                  double budget, Date weddingDate, String partnerId, User partner) {
@@ -60,4 +61,12 @@ public class Couple extends User {
     public void setPartner(User partner) {
         this.partner = partner;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
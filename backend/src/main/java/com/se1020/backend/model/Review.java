@@ -11,6 +11,7 @@ public class Review {
     private String comment;      // Detailed feedback
     private Date reviewDate;     // When the review was submitted
     private boolean isVerified;  // If this is from a verified booking
+    private long version;
     
     public Review() {
     }
@@ -93,4 +94,12 @@ public class Review {
     public void setVerified(boolean verified) {
         isVerified = verified;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
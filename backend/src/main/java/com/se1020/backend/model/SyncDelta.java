@@ -0,0 +1,41 @@
+package com.se1020.backend.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a client must apply to catch up, by entity type: the entities to
+ * insert or replace, and the ids of the entities to delete. When snapshot is
+ * set the upserts hold every entity and the client should drop anything else
+ * it has. Pass sequence as "since" on the next sync.
+ */
+public class SyncDelta {
+    private final long sequence;
+    private final boolean snapshot;
+    private final Map<String, List<Object>> upserts;
+    private final Map<String, List<String>> deletes;
+
+    public SyncDelta(long sequence, boolean snapshot, Map<String, List<Object>> upserts,
+            Map<String, List<String>> deletes) {
+        this.sequence = sequence;
+        this.snapshot = snapshot;
+        this.upserts = upserts;
+        this.deletes = deletes;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public Map<String, List<Object>> getUpserts() {
+        return upserts;
+    }
+
+    public Map<String, List<String>> getDeletes() {
+        return deletes;
+    }
+}
@@ -10,6 +10,7 @@ public class Task {
     private String description;
     private Date dueDate;
     private boolean isCompleted;
+    private long version;
     
     public Task() {
     }
@@ -76,4 +77,12 @@ public class Task {
     public void markCompleted() {
         this.isCompleted = true;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
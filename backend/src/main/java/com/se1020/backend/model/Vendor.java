@@ -34,7 +34,10 @@ public class Vendor extends User {
     
     // Simplified location
     private String address = "";
-    private Double serviceRadius;
+    private Double serviceRadius;   // Kilometres around the vendor's location
+    private Double latitude;
+    private Double longitude;
+    private long version;
     
     // Social media links
     private Map<SocialMediaPlatform, String> socialMediaLinks = new HashMap<>();
@@ -167,6 +170,22 @@ public class Vendor extends User {
         this.serviceRadius = serviceRadius;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     // Social media methods
     public Map<SocialMediaPlatform, String> getSocialMediaLinks() {
         return socialMediaLinks;
@@ -188,4 +207,12 @@ public class Vendor extends User {
             this.socialMediaLinks.remove(platform);
         }
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
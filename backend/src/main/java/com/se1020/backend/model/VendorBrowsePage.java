@@ -0,0 +1,45 @@
+package com.se1020.backend.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a faceted vendor listing, with the facet counts of every vendor
+ * that matched the filters, not just of those on the page.
+ */
+public class VendorBrowsePage {
+    private final List<Vendor> vendors;
+    private final long total;
+    private final int page;
+    private final int size;
+    private final Map<String, Map<String, Long>> facets;
+
+    public VendorBrowsePage(List<Vendor> vendors, long total, int page, int size,
+            Map<String, Map<String, Long>> facets) {
+        this.vendors = vendors;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.facets = facets;
+    }
+
+    public List<Vendor> getVendors() {
+        return vendors;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,31 @@
+package com.se1020.backend.model;
+
+import java.util.List;
+
+/**
+ * One vendor from each requested category, with the bundle's total price and
+ * average rating.
+ */
+public class VendorBundle {
+    private final List<Vendor> vendors;
+    private final double totalPrice;
+    private final double averageRating;
+
+    public VendorBundle(List<Vendor> vendors, double totalPrice, double averageRating) {
+        this.vendors = vendors;
+        this.totalPrice = totalPrice;
+        this.averageRating = averageRating;
+    }
+
+    public List<Vendor> getVendors() {
+        return vendors;
+    }
+
+    public double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+}
@@ -0,0 +1,56 @@
+package com.se1020.backend.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Review totals for one vendor. Instances are immutable; every review change
+ * produces a new summary, so readers never see a half-applied update.
+ */
+public class VendorRatingSummary {
+    private final String vendorId;
+    private final long ratingSum;
+    private final int reviewCount;
+    private final int[] starCounts;   // starCounts[0] holds the 1-star reviews
+
+    public VendorRatingSummary(String vendorId) {
+        this(vendorId, 0, 0, new int[5]);
+    }
+
+    private VendorRatingSummary(String vendorId, long ratingSum, int reviewCount, int[] starCounts) {
+        this.vendorId = vendorId;
+        this.ratingSum = ratingSum;
+        this.reviewCount = reviewCount;
+        this.starCounts = starCounts;
+    }
+
+    // Returns a copy with one review of the given rating added (delta 1) or removed (delta -1).
+    // Ratings outside 1..5 count as the nearest star, in the average as well as the histogram.
+    public VendorRatingSummary with(int rating, int delta) {
+        int stars = Math.max(1, Math.min(5, rating));
+        int[] counts = starCounts.clone();
+        counts[stars - 1] += delta;
+        return new VendorRatingSummary(vendorId, ratingSum + (long) stars * delta, reviewCount + delta, counts);
+    }
+
+    public String getVendorId() {
+        return vendorId;
+    }
+
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    // Number of reviews per star rating, 1 through 5
+    public Map<Integer, Integer> getHistogram() {
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        for (int stars = 1; stars <= 5; stars++) {
+            histogram.put(stars, starCounts[stars - 1]);
+        }
+        return histogram;
+    }
+}
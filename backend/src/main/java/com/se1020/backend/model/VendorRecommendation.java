@@ -0,0 +1,49 @@
+package com.se1020.backend.model;
+
+/**
+ * A vendor suggested for a wedding with its overall score and the parts it
+ * was made of, each between 0 and 1. Availability and distance are null when
+ * the wedding's date or location is unknown.
+ */
+public class VendorRecommendation {
+    private final Vendor vendor;
+    private final double score;
+    private final double budgetFit;
+    private final double ratingScore;
+    private final Boolean available;
+    private final Double distanceKm;
+
+    public VendorRecommendation(Vendor vendor, double score, double budgetFit, double ratingScore,
+            Boolean available, Double distanceKm) {
+        this.vendor = vendor;
+        this.score = score;
+        this.budgetFit = budgetFit;
+        this.ratingScore = ratingScore;
+        this.available = available;
+        this.distanceKm = distanceKm;
+    }
+
+    public Vendor getVendor() {
+        return vendor;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public double getBudgetFit() {
+        return budgetFit;
+    }
+
+    public double getRatingScore() {
+        return ratingScore;
+    }
+
+    public Boolean getAvailable() {
+        return available;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -19,9 +19,12 @@ public class Wedding {
     
     private String location;
     private String address;
+    private Double latitude;
+    private Double longitude;
     private WeddingStyle style;
     private double budget;
     private List<Task> tasks = new ArrayList<>();  // Composition relationship
+    private long version;
     
     // Flag to determine if this is used as a request object or an entity
     private transient boolean isRequestObject = false;
@@ -70,6 +73,22 @@ public class Wedding {
         this.address = address;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public WeddingStyle getStyle() {
         return style;
     }
@@ -170,10 +189,21 @@ public class Wedding {
         entity.setCoupleId(this.coupleId);
         entity.setDate(this.date);
         entity.setLocation(this.location);
+        entity.setAddress(this.address);
+        entity.setLatitude(this.latitude);
+        entity.setLongitude(this.longitude);
         entity.setStyle(this.style);
         entity.setBudget(this.budget);
         entity.replaceTasks(this.tasks);
         
         return entity;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
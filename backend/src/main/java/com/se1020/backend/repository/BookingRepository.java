@@ -3,59 +3,118 @@ package com.se1020.backend.repository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.se1020.backend.model.Booking;
+import com.se1020.backend.repository.store.EntityChange;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityStoreListener;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.SortedEntityIndex;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 @Repository
 public class BookingRepository {
     private static final String FILE_PATH = "src/main/resources/data/bookings.json";
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final File file = new File(FILE_PATH);
+    private final EntityStore<Booking> store;
+    private final SortedEntityIndex<Booking> dateIndex = new SortedEntityIndex<>(
+            booking -> booking.getDate() != null ? booking.getDate().getTime() : Double.NaN);
+    private final VendorScheduleIndex scheduleIndex = new VendorScheduleIndex();
+
+    public BookingRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<Booking>>() {},
+                Booking::getBookingId);
+        store.trackVersions(Booking::getVersion, Booking::setVersion);
+        store.addIndex("vendorId", Booking::getVendorId);
+        store.addIndex("coupleId", Booking::getCoupleId);
+        store.addIndex("weddingId", Booking::getWeddingId);
+        store.addListener(dateIndex);
+        store.addListener(scheduleIndex);
+    }
+
+    // Lets services keep their own derived views in step with this repository
+    public void addListener(EntityStoreListener<Booking> listener) {
+        store.addListener(listener);
+    }
 
     public List<Booking> findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            objectMapper.writeValue(file, new ArrayList<Booking>());
-            return new ArrayList<>();
-        }
-        
-        if (file.length() == 0) {
-            objectMapper.writeValue(file, new ArrayList<Booking>());
-            return new ArrayList<>();
-        }
-        
-        return objectMapper.readValue(file, new TypeReference<List<Booking>>() {});
+        return store.findAll();
+    }
+
+    public EntityPage<Booking> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<Booking> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
+    }
+
+    public EntityVersion getVersion(String id, long trackedVersion) {
+        return store.getVersion(id, trackedVersion);
     }
 
     public Booking findById(String id) throws IOException {
-        List<Booking> bookings = findAll();
-        return bookings.stream()
-                .filter(booking -> booking.getBookingId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return store.findById(id);
+    }
+
+    public List<Booking> findByVendorId(String vendorId) throws IOException {
+        return store.findBy("vendorId", vendorId);
+    }
+
+    public List<Booking> findByCoupleId(String coupleId) throws IOException {
+        return store.findBy("coupleId", coupleId);
+    }
+
+    public List<Booking> findByWeddingId(String weddingId) throws IOException {
+        return store.findBy("weddingId", weddingId);
+    }
+
+    // Bookings dated within [from, to], earliest first; a null bound leaves that side open
+    public List<Booking> findByDateRange(Date from, Date to) throws IOException {
+        return dateIndex.range(from != null ? (double) from.getTime() : null,
+                to != null ? (double) to.getTime() : null);
+    }
+
+    /**
+     * Whether the vendor already has a CONFIRMED booking, other than the given
+     * one, on the same UTC day as date.
+     */
+    public boolean isVendorBooked(String vendorId, Date date, String excludedBookingId) {
+        if (vendorId == null || date == null) {
+            return false;
+        }
+        return scheduleIndex.isTaken(vendorId, VendorScheduleIndex.epochDay(date), excludedBookingId);
     }
 
     public void save(Booking booking) throws IOException {
-        List<Booking> bookings = findAll();
-        bookings.add(booking);
-        objectMapper.writeValue(file, bookings);
+        store.save(booking);
     }
 
     public void update(Booking booking) throws IOException {
-        List<Booking> bookings = findAll();
-        bookings.removeIf(b -> b.getBookingId().equals(booking.getBookingId()));
-        bookings.add(booking);
-        objectMapper.writeValue(file, bookings);
+        store.save(booking);
+    }
+
+    public void update(Booking booking, EntityVersion expected) throws IOException {
+        store.save(booking, expected);
+    }
+
+    public Booking update(String bookingId, EntityChange<Booking> change) throws IOException {
+        return store.update(bookingId, change);
     }
 
     public void delete(String bookingId) throws IOException {
-        List<Booking> bookings = findAll();
-        bookings.removeIf(b -> b.getBookingId().equals(bookingId));
-        objectMapper.writeValue(file, bookings);
+        store.delete(bookingId);
     }
 }
@@ -3,65 +3,61 @@ package com.se1020.backend.repository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.se1020.backend.model.Couple;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 @Repository
 public class CoupleRepository {
     private static final String FILE_PATH = "src/main/resources/data/couples.json";
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final File file = new File(FILE_PATH);
+    private final EntityStore<Couple> store;
+
+    public CoupleRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<Couple>>() {},
+                Couple::getId);
+        store.trackVersions(Couple::getVersion, Couple::setVersion);
+    }
 
     public List<Couple> findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            objectMapper.writeValue(file, new ArrayList<Couple>());
-            return new ArrayList<>();
-        }
-        
-        if (file.length() == 0) {
-            objectMapper.writeValue(file, new ArrayList<Couple>());
-            return new ArrayList<>();
-        }
-        
-        return objectMapper.readValue(file, new TypeReference<List<Couple>>() {});
+        return store.findAll();
+    }
+
+    public EntityPage<Couple> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<Couple> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
     }
 
     public Couple findById(String id) throws IOException {
-        List<Couple> couples = findAll();
-        return couples.stream()
-                .filter(couple -> couple.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return store.findById(id);
     }
 
     public void save(Couple couple) throws IOException {
-        List<Couple> couples = findAll();
-        // Check if couple already exists
-        boolean exists = couples.stream()
-                .anyMatch(c -> c.getId().equals(couple.getId()));
-        
-        if (!exists) {
-            couples.add(couple);
-            objectMapper.writeValue(file, couples);
-        }
+        // Existing couples are left untouched
+        store.saveIfAbsent(couple);
     }
 
     public void update(Couple couple) throws IOException {
-        List<Couple> couples = findAll();
-        couples.removeIf(c -> c.getId().equals(couple.getId()));
-        couples.add(couple);
-        objectMapper.writeValue(file, couples);
+        store.save(couple);
     }
 
     public void delete(String coupleId) throws IOException {
-        List<Couple> couples = findAll();
-        couples.removeIf(c -> c.getId().equals(coupleId));
-        objectMapper.writeValue(file, couples);
+        store.delete(coupleId);
     }
 }
@@ -3,74 +3,77 @@ package com.se1020.backend.repository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.se1020.backend.model.Review;
+import com.se1020.backend.model.VendorRatingSummary;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Repository
 public class ReviewRepository {
     private static final String FILE_PATH = "src/main/resources/data/reviews.json";
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final File file = new File(FILE_PATH);
+    private final EntityStore<Review> store;
+    private final VendorRatingIndex ratingIndex = new VendorRatingIndex();
+
+    public ReviewRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<Review>>() {},
+                Review::getReviewId);
+        store.trackVersions(Review::getVersion, Review::setVersion);
+        store.addListener(ratingIndex);
+        store.addIndex("vendorId", Review::getVendorId);
+        store.addIndex("coupleId", Review::getCoupleId);
+    }
 
     public List<Review> findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            objectMapper.writeValue(file, new ArrayList<Review>());
-            return new ArrayList<>();
-        }
-        
-        if (file.length() == 0) {
-            objectMapper.writeValue(file, new ArrayList<Review>());
-            return new ArrayList<>();
-        }
-        
-        return objectMapper.readValue(file, new TypeReference<List<Review>>() {});
+        return store.findAll();
+    }
+
+    public EntityPage<Review> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<Review> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
     }
 
     public Review findById(String id) throws IOException {
-        List<Review> reviews = findAll();
-        return reviews.stream()
-                .filter(review -> review.getReviewId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return store.findById(id);
     }
     
     public List<Review> findByVendorId(String vendorId) throws IOException {
-        List<Review> reviews = findAll();
-        return reviews.stream()
-                .filter(review -> review.getVendorId().equals(vendorId))
-                .collect(Collectors.toList());
+        return store.findBy("vendorId", vendorId);
     }
     
     public List<Review> findByCoupleId(String coupleId) throws IOException {
-        List<Review> reviews = findAll();
-        return reviews.stream()
-                .filter(review -> review.getCoupleId().equals(coupleId))
-                .collect(Collectors.toList());
+        return store.findBy("coupleId", coupleId);
+    }
+
+    public VendorRatingSummary getRatingSummary(String vendorId) {
+        return ratingIndex.get(vendorId);
     }
 
     public void save(Review review) throws IOException {
-        List<Review> reviews = findAll();
-        reviews.add(review);
-        objectMapper.writeValue(file, reviews);
+        store.save(review);
     }
 
     public void update(Review review) throws IOException {
-        List<Review> reviews = findAll();
-        reviews.removeIf(r -> r.getReviewId().equals(review.getReviewId()));
-        reviews.add(review);
-        objectMapper.writeValue(file, reviews);
+        store.save(review);
     }
 
     public void delete(String reviewId) throws IOException {
-        List<Review> reviews = findAll();
-        reviews.removeIf(r -> r.getReviewId().equals(reviewId));
-        objectMapper.writeValue(file, reviews);
+        store.delete(reviewId);
     }
 }
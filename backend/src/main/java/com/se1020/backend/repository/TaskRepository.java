@@ -3,59 +3,70 @@ package com.se1020.backend.repository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.se1020.backend.model.Task;
+import com.se1020.backend.repository.store.EntityChange;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 @Repository
 public class TaskRepository {
     private static final String FILE_PATH = "src/main/resources/data/tasks.json";
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final File file = new File(FILE_PATH);
+    private final EntityStore<Task> store;
+
+    public TaskRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<Task>>() {},
+                Task::getTaskId);
+        store.trackVersions(Task::getVersion, Task::setVersion);
+        store.addIndex("weddingId", Task::getWeddingId);
+    }
 
     public List<Task> findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            objectMapper.writeValue(file, new ArrayList<Task>());
-            return new ArrayList<>();
-        }
-        
-        if (file.length() == 0) {
-            objectMapper.writeValue(file, new ArrayList<Task>());
-            return new ArrayList<>();
-        }
-        
-        return objectMapper.readValue(file, new TypeReference<List<Task>>() {});
+        return store.findAll();
+    }
+
+    public EntityPage<Task> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<Task> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
     }
 
     public Task findById(String id) throws IOException {
-        List<Task> tasks = findAll();
-        return tasks.stream()
-                .filter(task -> task.getTaskId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return store.findById(id);
+    }
+
+    public List<Task> findByWeddingId(String weddingId) throws IOException {
+        return store.findBy("weddingId", weddingId);
     }
 
     public void save(Task task) throws IOException {
-        List<Task> tasks = findAll();
-        tasks.add(task);
-        objectMapper.writeValue(file, tasks);
+        store.save(task);
     }
 
     public void update(Task task) throws IOException {
-        List<Task> tasks = findAll();
-        tasks.removeIf(t -> t.getTaskId().equals(task.getTaskId()));
-        tasks.add(task);
-        objectMapper.writeValue(file, tasks);
+        store.save(task);
+    }
+
+    public Task update(String taskId, EntityChange<Task> change) throws IOException {
+        return store.update(taskId, change);
     }
 
     public void delete(String taskId) throws IOException {
-        List<Task> tasks = findAll();
-        tasks.removeIf(t -> t.getTaskId().equals(taskId));
-        objectMapper.writeValue(file, tasks);
+        store.delete(taskId);
     }
 }
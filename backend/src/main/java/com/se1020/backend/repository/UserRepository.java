@@ -3,11 +3,13 @@ package com.se1020.backend.repository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.se1020.backend.model.User;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,47 +19,43 @@ import java.util.List;
 public class UserRepository {
     private static final String FILE_PATH = "src/main/resources/data/users.json";
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final File file = new File(FILE_PATH);
+    private final EntityStore<User> store;
+
+    public UserRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<User>>() {},
+                User::getId);
+    }
 
     public List<User> findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            objectMapper.writeValue(file, new ArrayList<User>());
-            return new ArrayList<>();
-        }
-        
-        if (file.length() == 0) {
-            objectMapper.writeValue(file, new ArrayList<User>());
-            return new ArrayList<>();
-        }
-        
-        return objectMapper.readValue(file, new TypeReference<List<User>>() {});
+        return store.findAll();
+    }
+
+    public EntityPage<User> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<User> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
     }
 
     public void save(User user) throws IOException {
-        List<User> users = findAll();
-        
-        // Check if user already exists
-        boolean exists = users.stream()
-                .anyMatch(u -> u.getId().equals(user.getId()));
-        
-        if (!exists) {
-            users.add(user);
-            objectMapper.writeValue(file, users);
-        }
+        // Existing users are left untouched
+        store.saveIfAbsent(user);
     }
 
     public void update(User user) throws IOException {
-        List<User> users = findAll();
-        users.removeIf(u -> u.getId().equals(user.getId()));
-        users.add(user);
-        objectMapper.writeValue(file, users);
+        store.save(user);
     }
 
     public void delete(String userId) throws IOException {
-        List<User> users = findAll();
-        users.removeIf(u -> u.getId().equals(userId));
-        objectMapper.writeValue(file, users);
+        store.delete(userId);
     }
 }
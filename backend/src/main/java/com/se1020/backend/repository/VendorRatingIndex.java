@@ -0,0 +1,65 @@
+package com.se1020.backend.repository;
+
+import com.se1020.backend.model.Review;
+import com.se1020.backend.model.VendorRatingSummary;
+import com.se1020.backend.repository.store.EntityStoreListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Running review totals per vendor, adjusted in O(1) as reviews are saved and
+ * deleted. It is filled from the review store when registered, so it is rebuilt
+ * from the snapshot and journal on every start.
+ */
+class VendorRatingIndex implements EntityStoreListener<Review> {
+    private final Map<String, VendorRatingSummary> summaries = new ConcurrentHashMap<>();
+    // What each review contributed, since a review modified in place no longer
+    // shows its old vendor and rating. Only touched from store callbacks.
+    private final Map<String, Contribution> contributions = new HashMap<>();
+
+    @Override
+    public void onPut(String id, Review previous, Review current) {
+        remove(id);
+        if (current.getVendorId() != null) {
+            contributions.put(id, new Contribution(current.getVendorId(), current.getRating()));
+            adjust(current.getVendorId(), current.getRating(), 1);
+        }
+    }
+
+    @Override
+    public void onDelete(String id, Review previous) {
+        remove(id);
+    }
+
+    VendorRatingSummary get(String vendorId) {
+        VendorRatingSummary summary = summaries.get(vendorId);
+        return summary != null ? summary : new VendorRatingSummary(vendorId);
+    }
+
+    private void remove(String id) {
+        Contribution old = contributions.remove(id);
+        if (old != null) {
+            adjust(old.vendorId, old.rating, -1);
+        }
+    }
+
+    private void adjust(String vendorId, int rating, int delta) {
+        summaries.compute(vendorId, (key, summary) -> {
+            VendorRatingSummary updated = (summary != null ? summary : new VendorRatingSummary(key))
+                    .with(rating, delta);
+            return updated.getReviewCount() == 0 ? null : updated;
+        });
+    }
+
+    private static final class Contribution {
+        private final String vendorId;
+        private final int rating;
+
+        private Contribution(String vendorId, int rating) {
+            this.vendorId = vendorId;
+            this.rating = rating;
+        }
+    }
+}
@@ -2,69 +2,119 @@ package com.se1020.backend.repository;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.annotation.JsonInclude;
+import com.se1020.backend.enums.VendorType;
 import com.se1020.backend.model.Vendor;
+import com.se1020.backend.repository.store.EntityChange;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityStoreListener;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.SortedEntityIndex;
 import com.se1020.backend.util.dsa.VendorLinkedList;
-import com.se1020.backend.util.dsa.VendorNode;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.List;
 
 @Repository
 public class VendorRepository {
     private static final String FILE_PATH = "src/main/resources/data/vendors.json";
-    private final ObjectMapper objectMapper = new ObjectMapper()
-        .setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL)
-        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    private final File file = new File(FILE_PATH);
+    // Same plain mapper VendorLinkedList uses for the file format
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EntityStore<Vendor> store;
+    private final SortedEntityIndex<Vendor> priceIndex = new SortedEntityIndex<>(Vendor::getBasePrice);
+    private final SortedEntityIndex<Vendor> ratingIndex = new SortedEntityIndex<>(Vendor::getRating);
+
+    public VendorRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<Vendor>>() {},
+                Vendor::getId);
+        store.trackVersions(Vendor::getVersion, Vendor::setVersion);
+        store.addListener(priceIndex);
+        store.addListener(ratingIndex);
+        store.addIndex("vendorType", Vendor::getVendorType);
+        store.addIndex("status", Vendor::getStatus);
+    }
+
+    // Lets services keep their own derived views in step with this repository
+    public void addListener(EntityStoreListener<Vendor> listener) {
+        store.addListener(listener);
+    }
 
     public VendorLinkedList findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            VendorLinkedList emptyList = new VendorLinkedList();
-            Files.write(Paths.get(FILE_PATH), emptyList.toJson().getBytes());
-            return emptyList;
-        }
-        
-        if (file.length() == 0) {
-            VendorLinkedList emptyList = new VendorLinkedList();
-            Files.write(Paths.get(FILE_PATH), emptyList.toJson().getBytes());
-            return emptyList;
-        }
-        
-        String json = new String(Files.readAllBytes(Paths.get(FILE_PATH)));
-        return VendorLinkedList.fromJson(json);
+        return VendorLinkedList.fromVendors(store.findAll());
+    }
+
+    public EntityPage<Vendor> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<Vendor> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
+    }
+
+    public EntityVersion getVersion(String id, long trackedVersion) {
+        return store.getVersion(id, trackedVersion);
+    }
+
+    // A null bound leaves that side of the range open
+    public List<Vendor> findByPriceRange(Double minPrice, Double maxPrice) {
+        return priceIndex.range(minPrice, maxPrice);
+    }
+
+    public List<Vendor> findAllSortedByPrice(boolean ascending) {
+        return ascending ? priceIndex.ascending() : priceIndex.descending();
+    }
+
+    public List<Vendor> findAllSortedByRating() {
+        return ratingIndex.descending();
+    }
+
+    public List<Vendor> findTopRated(int limit) {
+        return ratingIndex.highest(limit);
+    }
+
+    public List<Vendor> findByType(VendorType vendorType) {
+        return store.findBy("vendorType", vendorType);
+    }
+
+    public List<Vendor> findByStatus(String status) {
+        return store.findBy("status", status);
+    }
+
+    public int count() {
+        return store.size();
     }
 
     public Vendor findById(String id) throws IOException {
-        return findAll().getVendorById(id);
+        return store.findById(id);
     }
 
     public void save(Vendor vendor) throws IOException {
-        VendorLinkedList vendors = findAll();
-        vendors.addVendor(vendor);
-        saveAll(vendors);
+        store.save(vendor);
     }
 
     public void update(Vendor vendor) throws IOException {
-        VendorLinkedList vendors = findAll();
-        vendors.removeVendor(vendor.getId());
-        vendors.addVendor(vendor);
-        saveAll(vendors);
+        store.save(vendor);
     }
 
-    public void delete(String vendorId) throws IOException {
-        VendorLinkedList vendors = findAll();
-        vendors.removeVendor(vendorId);
-        saveAll(vendors);
+    public Vendor update(String vendorId, EntityChange<Vendor> change) throws IOException {
+        return store.update(vendorId, change);
+    }
+
+    public Vendor update(String vendorId, EntityVersion expected, EntityChange<Vendor> change) throws IOException {
+        return store.update(vendorId, expected, change);
     }
 
-    private void saveAll(VendorLinkedList vendors) throws IOException {
-        Files.write(Paths.get(FILE_PATH), vendors.toJson().getBytes());
+    public void delete(String vendorId) throws IOException {
+        store.delete(vendorId);
     }
 }
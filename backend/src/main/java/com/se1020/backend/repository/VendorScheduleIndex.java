@@ -0,0 +1,89 @@
+package com.se1020.backend.repository;
+
+import com.se1020.backend.enums.BookingStatus;
+import com.se1020.backend.model.Booking;
+import com.se1020.backend.repository.store.EntityStoreListener;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Days on which each vendor has a CONFIRMED booking, ordered per vendor so that
+ * "is vendor X taken on day D" costs O(log n). A booking occupies the whole UTC
+ * day of its date. Other statuses do not take the day.
+ */
+class VendorScheduleIndex implements EntityStoreListener<Booking> {
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private final Map<String, ConcurrentSkipListMap<Long, Set<String>>> daysByVendor = new ConcurrentHashMap<>();
+    // Where each confirmed booking was indexed, so it can be removed even after an in-place edit.
+    // Only touched from store callbacks.
+    private final Map<String, Slot> slotsByBooking = new HashMap<>();
+
+    static long epochDay(Date date) {
+        return Math.floorDiv(date.getTime(), MILLIS_PER_DAY);
+    }
+
+    @Override
+    public void onPut(String id, Booking previous, Booking current) {
+        remove(id);
+        if (current.getStatus() == BookingStatus.CONFIRMED && current.getVendorId() != null
+                && current.getDate() != null) {
+            Slot slot = new Slot(current.getVendorId(), epochDay(current.getDate()));
+            slotsByBooking.put(id, slot);
+            daysByVendor.computeIfAbsent(slot.vendorId, key -> new ConcurrentSkipListMap<>())
+                    .computeIfAbsent(slot.day, key -> ConcurrentHashMap.newKeySet())
+                    .add(id);
+        }
+    }
+
+    @Override
+    public void onDelete(String id, Booking previous) {
+        remove(id);
+    }
+
+    /**
+     * Whether a confirmed booking other than the excluded one holds the vendor on that day.
+     */
+    boolean isTaken(String vendorId, long day, String excludedBookingId) {
+        NavigableMap<Long, Set<String>> days = daysByVendor.get(vendorId);
+        Set<String> bookings = days == null ? null : days.get(day);
+        if (bookings == null) {
+            return false;
+        }
+        for (String bookingId : bookings) {
+            if (!bookingId.equals(excludedBookingId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void remove(String id) {
+        Slot slot = slotsByBooking.remove(id);
+        if (slot == null) {
+            return;
+        }
+        ConcurrentSkipListMap<Long, Set<String>> days = daysByVendor.get(slot.vendorId);
+        Set<String> bookings = days.get(slot.day);
+        bookings.remove(id);
+        if (bookings.isEmpty()) {
+            days.remove(slot.day);
+        }
+    }
+
+    private static final class Slot {
+        private final String vendorId;
+        private final long day;
+
+        private Slot(String vendorId, long day) {
+            this.vendorId = vendorId;
+            this.day = day;
+        }
+    }
+}
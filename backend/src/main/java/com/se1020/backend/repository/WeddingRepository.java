@@ -4,11 +4,15 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.se1020.backend.model.Wedding;
+import com.se1020.backend.repository.store.EntityChange;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityStoreListener;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.stereotype.Repository;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 @Repository
@@ -16,54 +20,71 @@ public class WeddingRepository {
     private static final String FILE_PATH = "src/main/resources/data/weddings.json";
     private final ObjectMapper objectMapper = new ObjectMapper()
         .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-    private final File file = new File(FILE_PATH);
+    private final EntityStore<Wedding> store;
+
+    public WeddingRepository(EntityStoreFactory storeFactory) {
+        this.store = storeFactory.create(FILE_PATH, objectMapper, new TypeReference<List<Wedding>>() {},
+                Wedding::getWeddingId);
+        store.trackVersions(Wedding::getVersion, Wedding::setVersion);
+        store.addIndex("coupleId", Wedding::getCoupleId);
+    }
+
+    // Lets services keep their own derived views in step with this repository
+    public void addListener(EntityStoreListener<Wedding> listener) {
+        store.addListener(listener);
+    }
 
     public List<Wedding> findAll() throws IOException {
-        if (!file.exists()) {
-            file.getParentFile().mkdirs();
-            file.createNewFile();
-            objectMapper.writeValue(file, new ArrayList<Wedding>());
-            return new ArrayList<>();
-        }
-        
-        if (file.length() == 0) {
-            objectMapper.writeValue(file, new ArrayList<Wedding>());
-            return new ArrayList<>();
-        }
-        
-        return objectMapper.readValue(file, new TypeReference<List<Wedding>>() {});
+        return store.findAll();
+    }
+
+    public EntityPage<Wedding> findPage(String after, int limit) {
+        return store.page(after, limit);
+    }
+
+    public EntityPage<Wedding> findPage(String after, int limit, long modifiedSince) {
+        return store.page(after, limit, modifiedSince);
+    }
+
+    public EntityVersion getVersion() {
+        return store.getVersion();
+    }
+
+    public EntityVersion getVersion(String id) {
+        return store.getVersion(id);
+    }
+
+    public EntityVersion getVersion(String id, long trackedVersion) {
+        return store.getVersion(id, trackedVersion);
     }
 
     public Wedding findById(String id) throws IOException {
-        List<Wedding> weddings = findAll();
-        return weddings.stream()
-                .filter(wedding -> wedding.getWeddingId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return store.findById(id);
+    }
+
+    public List<Wedding> findByCoupleId(String coupleId) throws IOException {
+        return store.findBy("coupleId", coupleId);
     }
 
     public void save(Wedding wedding) throws IOException {
-        List<Wedding> weddings = findAll();
-        // Check if wedding already exists
-        boolean exists = weddings.stream()
-                .anyMatch(w -> w.getWeddingId().equals(wedding.getWeddingId()));
-        
-        if (!exists) {
-            weddings.add(wedding);
-            objectMapper.writeValue(file, weddings);
-        }
+        // Existing weddings are left untouched
+        store.saveIfAbsent(wedding);
     }
 
     public void update(Wedding wedding) throws IOException {
-        List<Wedding> weddings = findAll();
-        weddings.removeIf(w -> w.getWeddingId().equals(wedding.getWeddingId()));
-        weddings.add(wedding);
-        objectMapper.writeValue(file, weddings);
+        store.save(wedding);
+    }
+
+    public Wedding update(String weddingId, EntityChange<Wedding> change) throws IOException {
+        return store.update(weddingId, change);
+    }
+
+    public Wedding update(String weddingId, EntityVersion expected, EntityChange<Wedding> change)
+            throws IOException {
+        return store.update(weddingId, expected, change);
     }
 
     public void delete(String weddingId) throws IOException {
-        List<Wedding> weddings = findAll();
-        weddings.removeIf(w -> w.getWeddingId().equals(weddingId));
-        objectMapper.writeValue(file, weddings);
+        store.delete(weddingId);
     }
 }
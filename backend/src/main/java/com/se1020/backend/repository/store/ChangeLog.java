@@ -0,0 +1,102 @@
+package com.se1020.backend.repository.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The most recent writes across all entity stores, each with a sequence number
+// that grows by one per write, so a client can ask for everything after the
+// last number it saw.
+//
+// Only the newest capacity changes are kept, in a ring buffer. A client that
+// fell further behind, or holds a number from before a restart, is told the log
+// cannot answer and has to start over from a full snapshot. To keep numbers from
+// an earlier run from looking valid, each run starts counting at its start time
+// in microseconds.
+public class ChangeLog {
+    private final String[] storeNames;
+    private final String[] ids;
+    private final boolean[] deletions;
+    private long nextSequence;
+    private int size;
+
+    public ChangeLog(int capacity, long firstSequence) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.storeNames = new String[capacity];
+        this.ids = new String[capacity];
+        this.deletions = new boolean[capacity];
+        this.nextSequence = firstSequence;
+    }
+
+    public static ChangeLog startingNow(int capacity) {
+        return new ChangeLog(capacity, System.currentTimeMillis() * 1000);
+    }
+
+    synchronized long append(String storeName, String id, boolean deleted) {
+        long sequence = nextSequence++;
+        int slot = slot(sequence);
+        storeNames[slot] = storeName;
+        ids[slot] = id;
+        deletions[slot] = deleted;
+        size = Math.min(size + 1, ids.length);
+        return sequence;
+    }
+
+    // The number of the latest change, or one less than the first number before any change
+    public synchronized long getSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * The changes after the given sequence number, oldest first, or null when
+     * the log cannot list them all: some were already dropped, or the number
+     * was never handed out by this log.
+     */
+    public synchronized List<Change> since(long sequence) {
+        long oldest = nextSequence - size;
+        if (sequence < oldest - 1 || sequence >= nextSequence) {
+            return null;
+        }
+        List<Change> changes = new ArrayList<>((int) (nextSequence - 1 - sequence));
+        for (long next = sequence + 1; next < nextSequence; next++) {
+            int slot = slot(next);
+            changes.add(new Change(next, storeNames[slot], ids[slot], deletions[slot]));
+        }
+        return changes;
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) ids.length);
+    }
+
+    public static class Change {
+        private final long sequence;
+        private final String storeName;
+        private final String id;
+        private final boolean deleted;
+
+        Change(long sequence, String storeName, String id, boolean deleted) {
+            this.sequence = sequence;
+            this.storeName = storeName;
+            this.id = id;
+            this.deleted = deleted;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getStoreName() {
+            return storeName;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public boolean isDeleted() {
+            return deleted;
+        }
+    }
+}
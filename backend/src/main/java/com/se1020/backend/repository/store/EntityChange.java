@@ -0,0 +1,13 @@
+package com.se1020.backend.repository.store;
+
+import java.io.IOException;
+
+/**
+ * Read-modify-write step for {@link EntityStore#update(String, EntityChange)}.
+ */
+@FunctionalInterface
+public interface EntityChange<T> {
+    // Receives a private copy of the stored entity, or null if there is none,
+    // and returns the entity to store, or null to store nothing
+    T apply(T current) throws IOException;
+}
@@ -0,0 +1,288 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of entity mutations, one JSON record per line:
+ * {"op":"PUT","id":"...","entity":{...}} or {"op":"DELETE","id":"..."}.
+ *
+ * Compaction first rotates the live journal to "<name>.journal.1", so new
+ * appends can continue while the snapshot is rewritten, and drops the rotated
+ * file once the new snapshot is in place. Both files are replayed on startup.
+ */
+class EntityJournal<T> {
+    private static final Logger logger = LoggerFactory.getLogger(EntityJournal.class);
+
+    static final String PUT = "PUT";
+    static final String DELETE = "DELETE";
+
+    private final File file;
+    private final File rotatedFile;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter entityWriter;
+    private final ObjectReader entityReader;
+    private FileOutputStream out;
+    private int records;
+    // Length to cut the live journal back to before it is written again, after an
+    // append failed part way and the cut could not be made at once; -1 otherwise
+    private long tornAt = -1;
+
+    EntityJournal(File snapshotFile, ObjectMapper objectMapper, JavaType entityType) {
+        String name = snapshotFile.getName().replaceFirst("\\.json$", "") + ".journal";
+        this.file = new File(snapshotFile.getParentFile(), name);
+        this.rotatedFile = new File(snapshotFile.getParentFile(), name + ".1");
+        this.objectMapper = objectMapper;
+        this.entityWriter = objectMapper.writerFor(entityType);
+        this.entityReader = objectMapper.readerFor(entityType);
+    }
+
+    /**
+     * Applies the rotated journal and then the live one on top of the loaded snapshot.
+     *
+     * @return the number of records replayed
+     */
+    int replay(Map<String, T> entities) throws IOException {
+        int replayed = replay(rotatedFile, entities);
+        records = replay(file, entities);
+        return replayed + records;
+    }
+
+    // When either journal file was last written, or 0 if neither exists
+    long lastModified() {
+        return Math.max(file.lastModified(), rotatedFile.lastModified());
+    }
+
+    private int replay(File journal, Map<String, T> entities) throws IOException {
+        if (!journal.exists()) {
+            return 0;
+        }
+        byte[] content = Files.readAllBytes(journal.toPath());
+        int count = 0;
+        int start = 0;
+        while (start < content.length) {
+            int end = start;
+            while (end < content.length && content[end] != '\n') {
+                end++;
+            }
+            if (end == start) {
+                start++;
+                continue;
+            }
+            if (end == content.length) {
+                // A torn record from a crash mid-append; cut it off so later appends stay readable
+                logger.warn("Truncating unterminated tail of {} at byte {}", journal.getName(), start);
+                truncate(journal, start);
+                break;
+            }
+            if (tryApply(content, start, end, entities)) {
+                count++;
+            } else {
+                // A torn record with the next append written straight after it. Every
+                // record starts with {"op":, which cannot occur inside a JSON string, so
+                // the last one on the line is the intact record that followed.
+                int next = lastRecordStart(content, start + 1, end);
+                if (next >= 0 && tryApply(content, next, end, entities)) {
+                    count++;
+                }
+                logger.warn("Skipped a torn record in {} at byte {}", journal.getName(), start);
+            }
+            start = end + 1;
+        }
+        return count;
+    }
+
+    private boolean tryApply(byte[] content, int start, int end, Map<String, T> entities) {
+        try {
+            return apply(content, start, end - start, entities);
+        } catch (IOException e) {
+            logger.debug("Unreadable journal record", e);
+            return false;
+        }
+    }
+
+    private static int lastRecordStart(byte[] content, int from, int to) {
+        byte[] marker = "{\"op\":".getBytes(StandardCharsets.UTF_8);
+        for (int i = to - marker.length; i >= from; i--) {
+            int j = 0;
+            while (j < marker.length && content[i + j] == marker[j]) {
+                j++;
+            }
+            if (j == marker.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Streams the record rather than reading a tree, which would collapse the
+    // duplicate "role" keys that polymorphic users are written with
+    private boolean apply(byte[] content, int offset, int length, Map<String, T> entities) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(content, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            String op = null;
+            String id = null;
+            T entity = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("op".equals(field)) {
+                    op = parser.getText();
+                } else if ("id".equals(field)) {
+                    id = parser.getText();
+                } else if ("entity".equals(field)) {
+                    entity = entityReader.readValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (op == null || id == null) {
+                return false;
+            }
+            entities.remove(id);
+            if (PUT.equals(op)) {
+                entities.put(id, entity);
+            }
+            return true;
+        }
+    }
+
+    byte[] encodePut(String id, T entity) throws IOException {
+        return encode(PUT, id, entity);
+    }
+
+    byte[] encodeDelete(String id) throws IOException {
+        return encode(DELETE, id, null);
+    }
+
+    private byte[] encode(String op, String id, T entity) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeStringField("op", op);
+            generator.writeStringField("id", id);
+            if (entity != null) {
+                generator.writeFieldName("entity");
+                entityWriter.writeValue(generator, entity);
+            }
+            generator.writeEndObject();
+        }
+        buffer.write('\n');
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Appends a batch of encoded records with one write and one fsync. If
+     * either fails, the journal is cut back to where the batch started, so no
+     * later record is written after a partial one.
+     */
+    synchronized void append(List<byte[]> batch) throws IOException {
+        int length = 0;
+        for (byte[] record : batch) {
+            length += record.length;
+        }
+        byte[] buffer = new byte[length];
+        int offset = 0;
+        for (byte[] record : batch) {
+            System.arraycopy(record, 0, buffer, offset, record.length);
+            offset += record.length;
+        }
+        if (out == null) {
+            cutTornTail();
+            out = new FileOutputStream(file, true);
+        }
+        long start = out.getChannel().size();
+        try {
+            out.write(buffer);
+            out.getChannel().force(false);
+        } catch (IOException e) {
+            tornAt = start;
+            try {
+                close();
+                cutTornTail();
+            } catch (IOException cleanup) {
+                // Left for the next append or rotation, which will not proceed without it
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+        records += batch.size();
+    }
+
+    private void cutTornTail() throws IOException {
+        if (tornAt >= 0) {
+            if (file.exists()) {
+                truncate(file, tornAt);
+            }
+            tornAt = -1;
+        }
+    }
+
+    private static void truncate(File journal, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    synchronized int size() {
+        return records;
+    }
+
+    /**
+     * Moves the live journal aside so a snapshot of the current state can be
+     * written while new mutations go to a fresh journal.
+     */
+    synchronized void rotate() throws IOException {
+        close();
+        cutTornTail();
+        if (!file.exists()) {
+            return;
+        }
+        if (rotatedFile.exists()) {
+            // A previous compaction never finished; keep its records ahead of ours
+            Files.write(rotatedFile.toPath(), Files.readAllBytes(file.toPath()), StandardOpenOption.APPEND);
+            Files.delete(file.toPath());
+        } else {
+            Files.move(file.toPath(), rotatedFile.toPath());
+        }
+        records = 0;
+    }
+
+    boolean hasRotated() {
+        return rotatedFile.exists();
+    }
+
+    void discardRotated() throws IOException {
+        Files.deleteIfExists(rotatedFile.toPath());
+    }
+
+    synchronized void close() throws IOException {
+        if (out != null) {
+            try {
+                out.close();
+            } finally {
+                out = null;
+            }
+        }
+    }
+}
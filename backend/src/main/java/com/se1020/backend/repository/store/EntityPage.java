@@ -0,0 +1,25 @@
+package com.se1020.backend.repository.store;
+
+import java.util.List;
+
+/**
+ * One page of entities in id order. Pass the next cursor as "after" to fetch
+ * the following page; it is null on the last page.
+ */
+public class EntityPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public EntityPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
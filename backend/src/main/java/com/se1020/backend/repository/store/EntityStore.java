@@ -0,0 +1,730 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.se1020.backend.repository.store.GroupCommitter.PendingWrite;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Resident in-memory copy of one JSON entity file, keyed by entity id.
+ * The file is parsed once when the store is created; every read is served
+ * from memory and every mutation is made durable before it returns.
+ *
+ * In {@link StorageMode#SNAPSHOT} mode a mutation rewrites the JSON file. In
+ * {@link StorageMode#JOURNAL} mode it appends one record to the entity journal
+ * and the JSON file is only rewritten by {@link #compact()}.
+ *
+ * Mutations are applied in memory immediately and handed to a
+ * {@link GroupCommitter}, which writes everything that arrives within the
+ * commit window in one batch; the calling thread returns once its batch is durable.
+ * If the batch cannot be written, the mutation is undone before the caller
+ * gets the IOException, so a failed write leaves no trace in memory either.
+ *
+ * The store owns its instances: saves keep a copy of what they are given and
+ * findById hands out a copy, so a caller changing its object cannot bypass a
+ * version check or leave an index keyed on an old value. The list reads
+ * (findAll, findBy, findWhere, findFirst and page) return the stored instances
+ * themselves, to keep scans cheap, and callers must not change them; copy
+ * one with findById before changing it.
+ */
+public class EntityStore<T> {
+    private static final AtomicLong LAST_EPOCH = new AtomicLong();
+
+    private final File file;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter snapshotWriter;
+    private final Function<T, String> idExtractor;
+    // Set by trackVersions for entities that carry their own version property
+    private volatile ToLongFunction<T> versionOf;
+    private volatile ObjLongConsumer<T> setVersion;
+    // Shared with the other stores; every write here is appended under the write lock
+    private volatile ChangeLog changeLog;
+    private final StorageMode mode;
+    private final EntityJournal<T> journal;
+    private final Map<String, T> entities = new LinkedHashMap<>();
+    // The same entities ordered by id, so a page can start right after a cursor
+    private final NavigableMap<String, T> entitiesById = new TreeMap<>();
+    // When each entity was last written, in epoch millis
+    private final Map<String, Long> modifiedAt = new HashMap<>();
+    // The collection version each entity was last written at; entities loaded from disk are at 0
+    private final Map<String, Long> versions = new HashMap<>();
+    // The collection version each entity was created at, so a tracked version
+    // counted from 1 again after a delete gets a new tag; loaded entities are at 0
+    private final Map<String, Long> createdAt = new HashMap<>();
+    // Differs between every store opened, across restarts too, so versions counted
+    // from 0 again never repeat an earlier tag
+    private final String epoch = Long.toString(
+            LAST_EPOCH.accumulateAndGet(System.currentTimeMillis(), (last, now) -> Math.max(last + 1, now)), 36);
+    // Bumped by every mutation; both fields are guarded by the write lock
+    private long version;
+    private long collectionModified;
+    private final Object compactionLock = new Object();
+    // Guards the map: reads share it, and writers hold it only for the in-memory change
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes writers of the same id without blocking writers of other ids
+    private final StripedLock idLocks = new StripedLock(64);
+    private final ObjectReader entityReader;
+    private final ObjectWriter entityWriter;
+    private final String name;
+    private final GroupCommitter committer;
+    private final List<EntityStoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, HashIndex<T>> indexes = new ConcurrentHashMap<>();
+    private volatile boolean unflushedChanges;
+
+    public EntityStore(String filePath, ObjectMapper objectMapper, TypeReference<List<T>> listType,
+            Function<T, String> idExtractor, StorageMode mode) {
+        this(filePath, objectMapper, listType, idExtractor, mode, 0, 256);
+    }
+
+    public EntityStore(String filePath, ObjectMapper objectMapper, TypeReference<List<T>> listType,
+            Function<T, String> idExtractor, StorageMode mode, long commitWindowMicros, int maxBatchSize) {
+        this.file = new File(filePath);
+        this.name = file.getName().replaceFirst("\\.json$", "");
+        this.objectMapper = objectMapper;
+        this.snapshotWriter = objectMapper.writerFor(listType);
+        this.idExtractor = idExtractor;
+        this.mode = mode;
+        JavaType entityType = objectMapper.getTypeFactory().constructType(listType).getContentType();
+        this.journal = new EntityJournal<>(file, objectMapper, entityType);
+        this.entityReader = objectMapper.readerFor(entityType);
+        this.entityWriter = objectMapper.writerFor(entityType);
+        try {
+            load(listType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load " + filePath, e);
+        }
+        this.committer = new GroupCommitter(name, this::writeBatch, commitWindowMicros, maxBatchSize);
+    }
+
+    private void load(TypeReference<List<T>> listType) throws IOException {
+        if (!file.exists()) {
+            file.getParentFile().mkdirs();
+            file.createNewFile();
+        }
+        if (file.length() == 0) {
+            writeSnapshot(new ArrayList<>());
+        } else {
+            for (T entity : objectMapper.readValue(file, listType)) {
+                entities.put(idExtractor.apply(entity), entity);
+            }
+        }
+        // Modification times are not stored per entity, so a loaded entity is dated by
+        // the file it came from: the snapshot, or the journal if a record replaced it
+        long snapshotModified = file.lastModified();
+        Map<String, T> snapshot = new HashMap<>(entities);
+        // Journals left behind by an earlier run are replayed in either mode
+        int replayed = journal.replay(entities);
+        long journalModified = journal.lastModified();
+        collectionModified = Math.max(snapshotModified, journalModified);
+        if (replayed > 0 && mode == StorageMode.SNAPSHOT) {
+            compact();
+        }
+        for (Map.Entry<String, T> entry : entities.entrySet()) {
+            if (entry.getKey() != null) {
+                entitiesById.put(entry.getKey(), entry.getValue());
+                modifiedAt.put(entry.getKey(),
+                        snapshot.get(entry.getKey()) == entry.getValue() ? snapshotModified : journalModified);
+                versions.put(entry.getKey(), 0L);
+                createdAt.put(entry.getKey(), 0L);
+            }
+        }
+    }
+
+    public StorageMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Registers a listener and hands it every entity already stored, so it starts
+     * out consistent with the store and sees each later change exactly once.
+     */
+    public void addListener(EntityStoreListener<T> listener) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, T> entry : entities.entrySet()) {
+                listener.onPut(entry.getKey(), null, entry.getValue());
+            }
+            listeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Declares a secondary index on one property, such as a foreign key, and
+     * keeps it in sync from then on. Query it with {@link #findBy(String, Object)}.
+     */
+    public void addIndex(String indexName, Function<T, ?> keyExtractor) {
+        HashIndex<T> index = new HashIndex<>(keyExtractor);
+        addListener(index);
+        indexes.put(indexName, index);
+    }
+
+    /**
+     * Makes the store own the entities' version property: every write sets it to
+     * one more than the stored entity's, or 1 for a new entity, whatever the
+     * caller put there. The version is saved with the entity and is part of the
+     * entity tag of {@link #getVersion(String)}, next to the store's epoch and
+     * when the entity was created, so a version reached again after a delete
+     * or a restart never repeats an earlier tag.
+     */
+    public void trackVersions(ToLongFunction<T> versionOf, ObjLongConsumer<T> setVersion) {
+        this.versionOf = versionOf;
+        this.setVersion = setVersion;
+    }
+
+    /**
+     * Records every later insert, update and delete of this store in the log.
+     */
+    public void setChangeLog(ChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Entities whose indexed property equals key, in O(1 + matches).
+     */
+    public List<T> findBy(String indexName, Object key) {
+        HashIndex<T> index = indexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index " + indexName + " on " + name);
+        }
+        lock.readLock().lock();
+        try {
+            return index.get(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> findAll() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entities.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit entities with ids after the cursor, in id order, or from the
+     * first id when after is null. Costs O(log n + limit) however deep the page is.
+     */
+    public EntityPage<T> page(String after, int limit) {
+        return page(after, limit, Long.MIN_VALUE);
+    }
+
+    /**
+     * Like {@link #page(String, int)}, but only entities written at or after
+     * modifiedSince (epoch millis) are returned; the others are skipped.
+     */
+    public EntityPage<T> page(String after, int limit, long modifiedSince) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, T> rest = after == null ? entitiesById : entitiesById.tailMap(after, false);
+            List<T> items = new ArrayList<>(Math.min(limit, 1024));
+            String lastId = null;
+            for (Map.Entry<String, T> entry : rest.entrySet()) {
+                if (modifiedAt.get(entry.getKey()) < modifiedSince) {
+                    continue;
+                }
+                if (items.size() == limit) {
+                    return new EntityPage<>(items, lastId);
+                }
+                items.add(entry.getValue());
+                lastId = entry.getKey();
+            }
+            return new EntityPage<>(items, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The current version of the whole collection. It changes with every
+     * insert, update and delete.
+     */
+    public EntityVersion getVersion() {
+        lock.readLock().lock();
+        try {
+            return new EntityVersion(name + "-" + epoch + "-" + Long.toString(version, 36), collectionModified);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The current version of one entity, or null if it is not stored.
+     */
+    public EntityVersion getVersion(String id) {
+        lock.readLock().lock();
+        try {
+            Long entityVersion = versions.get(id);
+            if (entityVersion == null) {
+                return null;
+            }
+            if (versionOf != null) {
+                return trackedVersion(id, versionOf.applyAsLong(entities.get(id)));
+            }
+            return new EntityVersion(epoch + "-" + Long.toString(entityVersion, 36), modifiedAt.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The version of an entity written at the given tracked version, as
+     * {@link #getVersion(String)} returned it right after that write, or null
+     * if the entity is no longer stored. Lets a write answer with the tag of
+     * what it wrote even when another write has followed.
+     */
+    public EntityVersion getVersion(String id, long trackedVersion) {
+        lock.readLock().lock();
+        try {
+            return createdAt.containsKey(id) ? trackedVersion(id, trackedVersion) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the read lock
+    private EntityVersion trackedVersion(String id, long trackedVersion) {
+        return new EntityVersion(epoch + "-" + Long.toString(createdAt.get(id), 36) + "-" + trackedVersion,
+                modifiedAt.get(id));
+    }
+
+    /**
+     * When the entity was last written, in epoch millis, or 0 if it is not stored.
+     */
+    public long getLastModified(String id) {
+        lock.readLock().lock();
+        try {
+            Long modified = modifiedAt.get(id);
+            return modified != null ? modified : 0L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A private copy of the stored entity, or null. Callers may change it
+     * freely; nothing reaches the store until it is saved.
+     */
+    public T findById(String id) {
+        T stored = stored(id);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            return copyOf(stored);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not copy " + name + " " + id, e);
+        }
+    }
+
+    private T stored(String id) {
+        if (id == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return entities.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public T findFirst(Predicate<T> predicate) {
+        lock.readLock().lock();
+        try {
+            for (T entity : entities.values()) {
+                if (predicate.test(entity)) {
+                    return entity;
+                }
+            }
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> findWhere(Predicate<T> predicate) {
+        lock.readLock().lock();
+        try {
+            List<T> matches = new ArrayList<>();
+            for (T entity : entities.values()) {
+                if (predicate.test(entity)) {
+                    matches.add(entity);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean exists(String id) {
+        return stored(id) != null;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entities.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the entity. A replaced entity moves to the end of the
+     * file, matching the old remove-then-append behaviour of the repositories.
+     */
+    public void save(T entity) throws IOException {
+        String id = idExtractor.apply(entity);
+        Lock idLock = idLocks.get(id);
+        idLock.lock();
+        try {
+            awaitOrUndo(put(id, entity));
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the entity only while the stored one is still at the expected
+     * version, as returned by {@link #getVersion(String)}; a null expected
+     * version saves unconditionally.
+     *
+     * @throws StaleEntityException if the entity was changed or deleted since
+     */
+    public void save(T entity, EntityVersion expected) throws IOException {
+        String id = idExtractor.apply(entity);
+        Lock idLock = idLocks.get(id);
+        idLock.lock();
+        try {
+            checkVersion(id, expected);
+            awaitOrUndo(put(id, entity));
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the entity only when no entity with the same id is stored yet.
+     *
+     * @return true if the entity was inserted
+     */
+    public boolean saveIfAbsent(T entity) throws IOException {
+        String id = idExtractor.apply(entity);
+        Lock idLock = idLocks.get(id);
+        idLock.lock();
+        try {
+            if (exists(id)) {
+                return false;
+            }
+            awaitOrUndo(put(id, entity));
+        } finally {
+            idLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Atomic read-modify-write of one entity. The change receives a private copy
+     * of the stored entity, so readers never see it half-modified. Concurrent
+     * updates of the same id run one after another, so none of them is lost.
+     *
+     * @return the stored entity, or null if nothing was stored
+     */
+    public T update(String id, EntityChange<T> change) throws IOException {
+        return update(id, null, change);
+    }
+
+    /**
+     * {@link #update(String, EntityChange)} that only goes ahead while the
+     * stored entity is still at the expected version; a null expected version
+     * updates unconditionally.
+     *
+     * @throws StaleEntityException if the entity was changed or deleted since
+     */
+    public T update(String id, EntityVersion expected, EntityChange<T> change) throws IOException {
+        T updated;
+        Lock idLock = idLocks.get(id);
+        idLock.lock();
+        try {
+            checkVersion(id, expected);
+            T current = stored(id);
+            updated = change.apply(current == null ? null : copyOf(current));
+            if (updated == null) {
+                return null;
+            }
+            awaitOrUndo(put(id, updated));
+        } finally {
+            idLock.unlock();
+        }
+        return updated;
+    }
+
+    public void delete(String id) throws IOException {
+        if (id == null) {
+            return;
+        }
+        Lock idLock = idLocks.get(id);
+        idLock.lock();
+        try {
+            if (!exists(id)) {
+                return;
+            }
+            byte[] record = mode == StorageMode.JOURNAL ? journal.encodeDelete(id) : null;
+            AppliedWrite applied;
+            lock.writeLock().lock();
+            try {
+                applied = new AppliedWrite(id, null);
+                T previous = entities.remove(id);
+                entitiesById.remove(id);
+                modifiedAt.remove(id);
+                versions.remove(id);
+                createdAt.remove(id);
+                version++;
+                collectionModified = System.currentTimeMillis();
+                if (changeLog != null) {
+                    changeLog.append(name, id, true);
+                }
+                for (EntityStoreListener<T> listener : listeners) {
+                    listener.onDelete(id, previous);
+                }
+                applied.write = committer.submit(record);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            awaitOrUndo(applied);
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    // Callers hold the id lock, so the version cannot move between this check and their write
+    private void checkVersion(String id, EntityVersion expected) {
+        if (expected == null) {
+            return;
+        }
+        EntityVersion current = getVersion(id);
+        if (current == null || !current.getTag().equals(expected.getTag())) {
+            throw new StaleEntityException(name, id);
+        }
+    }
+
+    // Callers hold the id lock. The record is encoded before taking the store-wide
+    // write lock, which then only covers the map change and the hand-off to the
+    // committer; submitting under that lock keeps the journal in memory order.
+    private AppliedWrite put(String id, T entity) throws IOException {
+        if (setVersion != null) {
+            T stored = stored(id);
+            setVersion.accept(entity, stored == null ? 1 : versionOf.applyAsLong(stored) + 1);
+        }
+        byte[] record = mode == StorageMode.JOURNAL ? journal.encodePut(id, entity) : null;
+        // The store keeps its own copy, so the caller's object stays theirs to change
+        T resident = copyOf(entity);
+        lock.writeLock().lock();
+        try {
+            AppliedWrite applied = new AppliedWrite(id, resident);
+            T previous = entities.remove(id);
+            entities.put(id, resident);
+            long now = System.currentTimeMillis();
+            version++;
+            collectionModified = now;
+            if (id != null) {
+                entitiesById.put(id, resident);
+                modifiedAt.put(id, now);
+                versions.put(id, version);
+                if (previous == null) {
+                    createdAt.put(id, version);
+                }
+                if (changeLog != null) {
+                    changeLog.append(name, id, false);
+                }
+            }
+            for (EntityStoreListener<T> listener : listeners) {
+                listener.onPut(id, previous, resident);
+            }
+            applied.write = committer.submit(record);
+            return applied;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the id lock, so no other write of the id can build on this one
+    // before its batch is known to be on disk
+    private void awaitOrUndo(AppliedWrite applied) throws IOException {
+        try {
+            applied.write.await();
+        } catch (InterruptedIOException e) {
+            // The batch may still be written, so the change stays
+            throw e;
+        } catch (IOException e) {
+            undo(applied);
+            throw e;
+        }
+    }
+
+    // Puts back what the failed write replaced, telling listeners and the change
+    // log as for any other write, under a new collection version
+    private void undo(AppliedWrite applied) {
+        String id = applied.id;
+        lock.writeLock().lock();
+        try {
+            entities.remove(id);
+            if (applied.previous != null) {
+                entities.put(id, applied.previous);
+            }
+            version++;
+            collectionModified = System.currentTimeMillis();
+            // A snapshot may have been written with the undone change in the meantime
+            unflushedChanges = true;
+            if (id != null) {
+                restore(entitiesById, id, applied.previous);
+                restore(modifiedAt, id, applied.previousModified);
+                restore(versions, id, applied.previousVersion);
+                restore(createdAt, id, applied.previousCreated);
+                if (changeLog != null) {
+                    changeLog.append(name, id, applied.previous == null);
+                }
+            }
+            for (EntityStoreListener<T> listener : listeners) {
+                if (applied.previous == null) {
+                    listener.onDelete(id, applied.current);
+                } else {
+                    listener.onPut(id, applied.current, applied.previous);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <V> void restore(Map<String, V> map, String id, V value) {
+        if (value == null) {
+            map.remove(id);
+        } else {
+            map.put(id, value);
+        }
+    }
+
+    // A write applied in memory, with the state it replaced; taken under the write lock
+    private final class AppliedWrite {
+        private final String id;
+        private final T current;
+        private final T previous;
+        private final Long previousModified;
+        private final Long previousVersion;
+        private final Long previousCreated;
+        private PendingWrite write;
+
+        private AppliedWrite(String id, T current) {
+            this.id = id;
+            this.current = current;
+            this.previous = entities.get(id);
+            this.previousModified = modifiedAt.get(id);
+            this.previousVersion = versions.get(id);
+            this.previousCreated = createdAt.get(id);
+        }
+    }
+
+    private T copyOf(T entity) throws IOException {
+        return entityReader.readValue(entityWriter.writeValueAsBytes(entity));
+    }
+
+    // Runs on the committer thread. The writers of a failed batch undo their changes;
+    // the snapshot is still rewritten in case part of the batch reached the file.
+    private void writeBatch(List<byte[]> records) throws IOException {
+        try {
+            if (mode == StorageMode.JOURNAL) {
+                journal.append(records);
+            } else {
+                // compact() writes the same temp file, so the two take turns
+                synchronized (compactionLock) {
+                    writeSnapshot(findAll());
+                }
+            }
+        } catch (IOException e) {
+            unflushedChanges = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Folds the journal into a fresh JSON snapshot. Writers are only blocked
+     * while the journal is rotated, not while the snapshot is written.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<T> snapshot;
+            lock.writeLock().lock();
+            try {
+                snapshot = new ArrayList<>(entities.values());
+                journal.rotate();
+                unflushedChanges = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            writeSnapshot(snapshot);
+            journal.discardRotated();
+        }
+    }
+
+    public boolean needsCompaction() {
+        return unflushedChanges || journal.size() > 0 || journal.hasRotated();
+    }
+
+    public GroupCommitStats getCommitStats() {
+        return committer.getStats();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Waits for queued mutations to reach disk and releases the journal.
+     */
+    public void close() throws IOException {
+        committer.close();
+        journal.close();
+    }
+
+    private void writeSnapshot(List<T> snapshot) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        snapshotWriter.writeValue(temp, snapshot);
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,114 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Creates the entity stores used by the repositories and runs background
+ * journal compaction for them.
+ */
+@Component
+public class EntityStoreFactory {
+    private static final Logger logger = LoggerFactory.getLogger(EntityStoreFactory.class);
+
+    @Value("${storage.mode:JOURNAL}")
+    private StorageMode mode;
+
+    @Value("${storage.compaction-interval-seconds:30}")
+    private long compactionIntervalSeconds;
+
+    @Value("${storage.group-commit.window-micros:2000}")
+    private long commitWindowMicros;
+
+    @Value("${storage.group-commit.max-batch-size:256}")
+    private int maxBatchSize;
+
+    @Value("${sync.change-log.capacity:10000}")
+    private int changeLogCapacity;
+
+    private final List<EntityStore<?>> stores = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService compactor;
+    private ChangeLog changeLog;
+
+    @PostConstruct
+    public void start() {
+        changeLog = ChangeLog.startingNow(changeLogCapacity);
+        if (mode != StorageMode.JOURNAL) {
+            return;
+        }
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entity-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactAll, compactionIntervalSeconds,
+                compactionIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public <T> EntityStore<T> create(String filePath, ObjectMapper objectMapper, TypeReference<List<T>> listType,
+            Function<T, String> idExtractor) {
+        EntityStore<T> store = new EntityStore<>(filePath, objectMapper, listType, idExtractor, mode,
+                commitWindowMicros, maxBatchSize);
+        store.setChangeLog(changeLog);
+        stores.add(store);
+        return store;
+    }
+
+    // The writes of all stores created here, in the order they happened
+    public ChangeLog getChangeLog() {
+        return changeLog;
+    }
+
+    public Map<String, GroupCommitStats> getCommitStats() {
+        Map<String, GroupCommitStats> stats = new LinkedHashMap<>();
+        for (EntityStore<?> store : stores) {
+            stats.put(store.getName(), store.getCommitStats());
+        }
+        return stats;
+    }
+
+    public void compactAll() {
+        for (EntityStore<?> store : stores) {
+            if (!store.needsCompaction()) {
+                continue;
+            }
+            try {
+                store.compact();
+            } catch (IOException e) {
+                // The journal is still intact, so the next run simply retries
+                logger.error("Journal compaction failed", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (compactor != null) {
+            compactor.shutdown();
+        }
+        for (EntityStore<?> store : stores) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                logger.warn("Could not close entity store", e);
+            }
+        }
+        compactAll();
+    }
+}
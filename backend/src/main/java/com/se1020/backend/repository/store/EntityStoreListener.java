@@ -0,0 +1,14 @@
+package com.se1020.backend.repository.store;
+
+/**
+ * Receives every change of an {@link EntityStore}, in the order the changes are
+ * applied. Callbacks run while the store holds its write lock, so they must be
+ * quick and must not call back into the store.
+ */
+public interface EntityStoreListener<T> {
+    // previous is null when the entity is new. It can be the same instance as current
+    // when a caller modified a stored entity in place before saving it again.
+    void onPut(String id, T previous, T current);
+
+    void onDelete(String id, T previous);
+}
@@ -0,0 +1,34 @@
+package com.se1020.backend.repository.store;
+
+/**
+ * Identifies one state of a collection or entity, for conditional requests.
+ * The tag changes whenever the data does, including across restarts, and
+ * lastModified is when the data last changed, in epoch millis.
+ */
+public class EntityVersion {
+    private final String tag;
+    private final long lastModified;
+
+    public EntityVersion(String tag, long lastModified) {
+        this.tag = tag;
+        this.lastModified = lastModified;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    // The tag as a strong HTTP entity tag
+    public String getETag() {
+        return "\"" + tag + "\"";
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    // The version of a view built from both, which changes when either does
+    public EntityVersion and(EntityVersion other) {
+        return new EntityVersion(tag + "." + other.tag, Math.max(lastModified, other.lastModified));
+    }
+}
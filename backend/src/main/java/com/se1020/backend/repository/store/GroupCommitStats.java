@@ -0,0 +1,71 @@
+package com.se1020.backend.repository.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batch size and flush latency counters for one store's group commit, used to
+ * tune storage.group-commit.window-micros.
+ */
+public class GroupCommitStats {
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxBatchSize = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastBatchSize;
+    private volatile long lastFlushNanos;
+
+    void recordBatch(int size, long nanos) {
+        batches.increment();
+        mutations.add(size);
+        flushNanos.add(nanos);
+        maxBatchSize.accumulateAndGet(size, Math::max);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        lastBatchSize = size;
+        lastFlushNanos = nanos;
+    }
+
+    void recordFailure() {
+        failedBatches.increment();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getMutations() {
+        return mutations.sum();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0.0 : (double) mutations.sum() / count;
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatchSize.get();
+    }
+
+    public long getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public double getAverageFlushMillis() {
+        long count = batches.sum();
+        return count == 0 ? 0.0 : flushNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    public double getLastFlushMillis() {
+        return lastFlushNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.se1020.backend.repository.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects the mutations of one store that arrive within a short window and
+ * makes them durable with a single write and fsync. Callers block in
+ * {@link PendingWrite#await()} until the batch holding their mutation is on disk.
+ */
+class GroupCommitter {
+    private static final Logger logger = LoggerFactory.getLogger(GroupCommitter.class);
+
+    interface BatchWriter {
+        // Records are in submission order; entries are null when the store has no journal record to write
+        void write(List<byte[]> records) throws IOException;
+    }
+
+    private final BatchWriter writer;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final LinkedBlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final GroupCommitStats stats = new GroupCommitStats();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    GroupCommitter(String name, BatchWriter writer, long windowMicros, int maxBatchSize) {
+        this.writer = writer;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.thread = new Thread(this::run, "group-commit-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    // Synchronized with close(), so nothing is queued after the thread has been told to stop
+    synchronized PendingWrite submit(byte[] record) {
+        PendingWrite write = new PendingWrite(record);
+        if (running) {
+            queue.add(write);
+        } else {
+            write.future.completeExceptionally(new IOException("Group committer is closed"));
+        }
+        return write;
+    }
+
+    GroupCommitStats getStats() {
+        return stats;
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingWrite> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = first.enqueuedAt + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<byte[]> records = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            records.add(write.record);
+        }
+        long start = System.nanoTime();
+        try {
+            writer.write(records);
+            stats.recordBatch(batch.size(), System.nanoTime() - start);
+            for (PendingWrite write : batch) {
+                write.future.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Group commit of {} mutations failed", batch.size(), e);
+            stats.recordFailure();
+            for (PendingWrite write : batch) {
+                write.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting work and waits for everything already queued to be
+     * flushed. Writes submitted afterwards fail instead of waiting forever.
+     */
+    void close() {
+        synchronized (this) {
+            running = false;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Only left over if the thread was interrupted before it could flush them
+        PendingWrite left;
+        while ((left = queue.poll()) != null) {
+            left.future.completeExceptionally(new IOException("Group committer closed before the write was flushed"));
+        }
+    }
+
+    static class PendingWrite {
+        private final byte[] record;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingWrite(byte[] record) {
+            this.record = record;
+        }
+
+        void await() throws IOException {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for group commit");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Group commit failed", e.getCause());
+            }
+        }
+    }
+}
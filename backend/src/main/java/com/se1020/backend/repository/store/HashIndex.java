@@ -0,0 +1,59 @@
+package com.se1020.backend.repository.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Multimap from one property value to the entities that have it, registered
+ * through {@link EntityStore#addIndex(String, Function)}. It is changed from the
+ * store's callbacks under the write lock and read under the read lock, so it
+ * needs no locking of its own. Entities with a null value are not indexed.
+ */
+class HashIndex<T> implements EntityStoreListener<T> {
+    private final Function<T, ?> keyExtractor;
+    // Per key, entities keep the order in which they were last saved, like the store itself
+    private final Map<Object, Map<String, T>> entries = new HashMap<>();
+    // The value each entity was indexed under, since an entity modified in place
+    // no longer yields it
+    private final Map<String, Object> keysById = new HashMap<>();
+
+    HashIndex(Function<T, ?> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public void onPut(String id, T previous, T current) {
+        remove(id);
+        Object key = keyExtractor.apply(current);
+        if (key != null) {
+            keysById.put(id, key);
+            entries.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(id, current);
+        }
+    }
+
+    @Override
+    public void onDelete(String id, T previous) {
+        remove(id);
+    }
+
+    List<T> get(Object key) {
+        Map<String, T> matches = key == null ? null : entries.get(key);
+        return matches == null ? new ArrayList<>() : new ArrayList<>(matches.values());
+    }
+
+    private void remove(String id) {
+        Object oldKey = keysById.remove(id);
+        if (oldKey == null) {
+            return;
+        }
+        Map<String, T> matches = entries.get(oldKey);
+        matches.remove(id);
+        if (matches.isEmpty()) {
+            entries.remove(oldKey);
+        }
+    }
+}
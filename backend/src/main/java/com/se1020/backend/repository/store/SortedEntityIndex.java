@@ -0,0 +1,141 @@
+package com.se1020.backend.repository.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Entities of one store ordered by a numeric key, kept up to date as the store
+ * changes. Ties are ordered by id. Range queries cost O(log n + k) and ordered
+ * walks need no sorting.
+ *
+ * Entities whose key is NaN, such as a missing date, are left out.
+ *
+ * Reads are lock-free and see the index as it was at some point during the call.
+ */
+public class SortedEntityIndex<T> implements EntityStoreListener<T> {
+    private final ToDoubleFunction<T> keyExtractor;
+    private final ConcurrentSkipListMap<Key, T> entries = new ConcurrentSkipListMap<>();
+    // The key each entity was indexed under, since an entity modified in place
+    // no longer yields the key it was stored with. Only touched from the store's
+    // callbacks, which run one at a time under its write lock.
+    private final Map<String, Key> keysById = new HashMap<>();
+
+    public SortedEntityIndex(ToDoubleFunction<T> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public void onPut(String id, T previous, T current) {
+        Key oldKey = keysById.remove(id);
+        if (oldKey != null) {
+            entries.remove(oldKey);
+        }
+        double value = keyExtractor.applyAsDouble(current);
+        if (!Double.isNaN(value)) {
+            Key key = new Key(value, id);
+            keysById.put(id, key);
+            entries.put(key, current);
+        }
+    }
+
+    @Override
+    public void onDelete(String id, T previous) {
+        Key oldKey = keysById.remove(id);
+        if (oldKey != null) {
+            entries.remove(oldKey);
+        }
+    }
+
+    /**
+     * Entities whose key lies in [min, max], in ascending key order. A null
+     * bound leaves that side open.
+     */
+    public List<T> range(Double min, Double max) {
+        if (min != null && max != null && min > max) {
+            return new ArrayList<>();
+        }
+        NavigableMap<Key, T> view = entries;
+        if (min != null) {
+            view = view.tailMap(Key.lowest(min), true);
+        }
+        if (max != null) {
+            view = view.headMap(Key.highest(max), true);
+        }
+        return new ArrayList<>(view.values());
+    }
+
+    public List<T> ascending() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public List<T> descending() {
+        return new ArrayList<>(entries.descendingMap().values());
+    }
+
+    /**
+     * The limit entities with the highest keys, highest first, in O(log n + limit).
+     */
+    public List<T> highest(int limit) {
+        List<T> result = new ArrayList<>();
+        for (T value : entries.descendingMap().values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(value);
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Key implements Comparable<Key> {
+        // Bound markers sort before or after every id at the same key value
+        private static final int LOWEST = -1;
+        private static final int ENTRY = 0;
+        private static final int HIGHEST = 1;
+
+        private final double value;
+        private final String id;
+        private final int bound;
+
+        private Key(double value, String id, int bound) {
+            this.value = value;
+            this.id = id;
+            this.bound = bound;
+        }
+
+        Key(double value, String id) {
+            this(value, id, ENTRY);
+        }
+
+        static Key lowest(double value) {
+            return new Key(value, null, LOWEST);
+        }
+
+        static Key highest(double value) {
+            return new Key(value, null, HIGHEST);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byValue = Double.compare(value, other.value);
+            if (byValue != 0) {
+                return byValue;
+            }
+            if (bound != ENTRY || other.bound != ENTRY) {
+                return Integer.compare(bound, other.bound);
+            }
+            if (id == null || other.id == null) {
+                return id == null ? (other.id == null ? 0 : -1) : 1;
+            }
+            return id.compareTo(other.id);
+        }
+    }
+}
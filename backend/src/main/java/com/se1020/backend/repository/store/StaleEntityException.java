@@ -0,0 +1,12 @@
+package com.se1020.backend.repository.store;
+
+/**
+ * Thrown by a conditional write when the entity is no longer at the version
+ * the caller last saw, because someone else changed or deleted it since.
+ */
+public class StaleEntityException extends RuntimeException {
+
+    public StaleEntityException(String storeName, String id) {
+        super(storeName + " " + id + " was changed by someone else");
+    }
+}
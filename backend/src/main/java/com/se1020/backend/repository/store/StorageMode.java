@@ -0,0 +1,8 @@
+package com.se1020.backend.repository.store;
+
+public enum StorageMode {
+    // Every mutation rewrites the whole JSON file
+    SNAPSHOT,
+    // Mutations are appended to a per-entity journal; the JSON file is rebuilt by compaction
+    JOURNAL
+}
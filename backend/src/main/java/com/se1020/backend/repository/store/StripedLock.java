@@ -0,0 +1,49 @@
+package com.se1020.backend.repository.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks shared by hashing keys onto them, so that work on
+ * different keys rarely contends while memory stays bounded.
+ */
+public class StripedLock {
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock get(String key) {
+        return stripes[indexOf(key)];
+    }
+
+    /**
+     * The locks of all the keys, each stripe once and always in the same
+     * order, so callers that take them in list order cannot deadlock.
+     */
+    public List<Lock> getAll(String... keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String key : keys) {
+            indexes.add(indexOf(key));
+        }
+        List<Lock> locks = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            locks.add(stripes[index]);
+        }
+        return locks;
+    }
+
+    private int indexOf(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= (hash >>> 16);
+        return hash & (stripes.length - 1);
+    }
+}
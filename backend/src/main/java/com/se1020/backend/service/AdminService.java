@@ -8,11 +8,16 @@ import com.se1020.backend.repository.AdminRepository;
 import com.se1020.backend.repository.UserRepository;
 import com.se1020.backend.repository.VendorRepository;
 import com.se1020.backend.repository.CoupleRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.GroupCommitStats;
 import com.se1020.backend.enums.UserRole;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -32,6 +37,9 @@ public class AdminService {
     @Autowired
     private CoupleRepository coupleRepository;
 
+    @Autowired
+    private EntityStoreFactory storeFactory;
+
     public Admin login(String email, String password) throws IOException {
         Admin admin = adminRepository.findByEmail(email);
         if (admin != null && admin.getPassword().equals(password)) {
@@ -44,10 +52,22 @@ public class AdminService {
         return adminRepository.findAll();
     }
 
+    public EntityPage<Admin> getAdminPage(String after, int limit) {
+        return adminRepository.findPage(after, limit);
+    }
+
     public Admin getAdminById(String adminId) throws IOException {
         return adminRepository.findById(adminId);
     }
 
+    public EntityVersion getAdminsVersion() {
+        return adminRepository.getVersion();
+    }
+
+    public EntityVersion getAdminVersion(String adminId) {
+        return adminRepository.getVersion(adminId);
+    }
+
     public void createAdmin(Admin admin) throws IOException {
         admin.setRole(UserRole.ADMIN);
         adminRepository.save(admin);
@@ -66,33 +86,55 @@ public class AdminService {
         return userRepository.findAll();
     }
 
+    public EntityPage<User> getUserPage(String after, int limit) {
+        return userRepository.findPage(after, limit);
+    }
+
+    public EntityVersion getUsersVersion() {
+        return userRepository.getVersion();
+    }
+
     public void deleteUser(String userId) throws IOException {
         userRepository.delete(userId);
     }
 
     // Vendor management methods
     public List<Vendor> getAllVendors() throws IOException {
-        return vendorRepository.findAll();
+        return Arrays.asList(vendorRepository.findAll().toArray());
+    }
+
+    public EntityPage<Vendor> getVendorPage(String after, int limit) {
+        return vendorRepository.findPage(after, limit);
     }
 
     public Vendor getVendorById(String vendorId) throws IOException {
         return vendorRepository.findById(vendorId);
     }
 
+    public EntityVersion getVendorsVersion() {
+        return vendorRepository.getVersion();
+    }
+
+    public EntityVersion getVendorVersion(String vendorId) {
+        return vendorRepository.getVersion(vendorId);
+    }
+
     public void approveVendor(String vendorId) throws IOException {
-        Vendor vendor = vendorRepository.findById(vendorId);
-        if (vendor != null) {
-            vendor.setStatus("APPROVED");
-            vendorRepository.update(vendor);
-        }
+        vendorRepository.update(vendorId, vendor -> {
+            if (vendor != null) {
+                vendor.setStatus("APPROVED");
+            }
+            return vendor;
+        });
     }
 
     public void rejectVendor(String vendorId) throws IOException {
-        Vendor vendor = vendorRepository.findById(vendorId);
-        if (vendor != null) {
-            vendor.setStatus("REJECTED");
-            vendorRepository.update(vendor);
-        }
+        vendorRepository.update(vendorId, vendor -> {
+            if (vendor != null) {
+                vendor.setStatus("REJECTED");
+            }
+            return vendor;
+        });
     }
 
     public void deleteVendor(String vendorId) throws IOException {
@@ -104,10 +146,22 @@ public class AdminService {
         return coupleRepository.findAll();
     }
 
+    public EntityPage<Couple> getCouplePage(String after, int limit) {
+        return coupleRepository.findPage(after, limit);
+    }
+
     public Couple getCoupleById(String coupleId) throws IOException {
         return coupleRepository.findById(coupleId);
     }
 
+    public EntityVersion getCouplesVersion() {
+        return coupleRepository.getVersion();
+    }
+
+    public EntityVersion getCoupleVersion(String coupleId) {
+        return coupleRepository.getVersion(coupleId);
+    }
+
     public void deleteCouple(String coupleId) throws IOException {
         coupleRepository.delete(coupleId);
     }
@@ -117,7 +171,7 @@ public class AdminService {
         Map<String, Object> stats = new HashMap<>();
 
         List<User> allUsers = userRepository.findAll();
-        List<Vendor> allVendors = vendorRepository.findAll();
+        List<Vendor> allVendors = getAllVendors();
         List<Admin> allAdmins = adminRepository.findAll();
 
         stats.put("totalUsers", allUsers.size());
@@ -132,4 +186,9 @@ public class AdminService {
 
         return stats;
     }
+
+    // Group commit batch sizes and flush latencies per entity store
+    public Map<String, GroupCommitStats> getStorageStats() {
+        return storeFactory.getCommitStats();
+    }
 }
\ No newline at end of file
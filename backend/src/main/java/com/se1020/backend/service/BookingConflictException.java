@@ -0,0 +1,12 @@
+package com.se1020.backend.service;
+
+/**
+ * Thrown when a booking would put a vendor on a day that another confirmed
+ * booking already holds.
+ */
+public class BookingConflictException extends RuntimeException {
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
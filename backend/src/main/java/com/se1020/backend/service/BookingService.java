@@ -1,16 +1,28 @@
 package com.se1020.backend.service;
 
+import com.se1020.backend.enums.BookingStatus;
 import com.se1020.backend.model.Booking;
 import com.se1020.backend.repository.BookingRepository;
 import com.se1020.backend.repository.WeddingRepository;
 import com.se1020.backend.repository.VendorRepository;
-import com.se1020.backend.model.Wedding;
 import com.se1020.backend.model.Vendor;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.StaleEntityException;
+import com.se1020.backend.repository.store.StripedLock;
+import com.se1020.backend.util.dsa.TopKSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 
 @Service
 public class BookingService {
@@ -22,20 +34,106 @@ public class BookingService {
     @Autowired
     private VendorRepository vendorRepository;
 
+    // Makes the free-day check and the write that takes the day one step per vendor
+    private final StripedLock vendorLocks = new StripedLock(64);
+
     public List<Booking> getAllBookings() throws IOException {
         return bookingRepository.findAll();
     }
 
+    /**
+     * Bookings dated between from and to, both days included. Booking dates are
+     * stored as UTC midnight, so the days are taken in UTC as well.
+     */
+    public List<Booking> getBookingsInRange(LocalDate from, LocalDate to) throws IOException {
+        if (from == null && to == null) {
+            return getAllBookings();
+        }
+        return bookingRepository.findByDateRange(startOf(from), endOf(to));
+    }
+
+    /**
+     * One page of the bookings dated between from and to, in id order. Without
+     * dates the page comes straight from the id-ordered store; with them the
+     * date index narrows the bookings first and the page is picked from those.
+     */
+    public EntityPage<Booking> getBookingPage(LocalDate from, LocalDate to, String after, int limit)
+            throws IOException {
+        if (from == null && to == null) {
+            return bookingRepository.findPage(after, limit);
+        }
+        List<Booking> candidates = new ArrayList<>();
+        for (Booking booking : bookingRepository.findByDateRange(startOf(from), endOf(to))) {
+            if (booking.getBookingId() != null && (after == null || booking.getBookingId().compareTo(after) > 0)) {
+                candidates.add(booking);
+            }
+        }
+        // Reversed, so the "greatest" are the lowest ids; one extra tells whether a next page exists
+        List<Booking> items = TopKSelector.top(candidates, limit + 1,
+                Comparator.comparing(Booking::getBookingId).reversed());
+        if (items.size() <= limit) {
+            return new EntityPage<>(items, null);
+        }
+        items = new ArrayList<>(items.subList(0, limit));
+        return new EntityPage<>(items, items.get(limit - 1).getBookingId());
+    }
+
+    public List<Booking> getBookingsByVendorId(String vendorId, LocalDate from, LocalDate to) throws IOException {
+        return withinRange(bookingRepository.findByVendorId(vendorId), from, to);
+    }
+
+    public List<Booking> getBookingsByCoupleId(String coupleId, LocalDate from, LocalDate to) throws IOException {
+        return withinRange(bookingRepository.findByCoupleId(coupleId), from, to);
+    }
+
+    public List<Booking> getBookingsByWeddingId(String weddingId, LocalDate from, LocalDate to) throws IOException {
+        return withinRange(bookingRepository.findByWeddingId(weddingId), from, to);
+    }
+
     public Booking getBookingById(String id) throws IOException {
         return bookingRepository.findById(id);
     }
 
+    public EntityVersion getBookingsVersion() {
+        return bookingRepository.getVersion();
+    }
+
+    public EntityVersion getBookingVersion(String id) {
+        return bookingRepository.getVersion(id);
+    }
+
+    public EntityVersion getBookingVersion(String id, long trackedVersion) {
+        return bookingRepository.getVersion(id, trackedVersion);
+    }
+
     public void createBooking(Booking booking) throws IOException {
-        bookingRepository.save(booking);
+        withVendorLocks(booking.getBookingId(), booking.getVendorId(), () -> {
+            if (booking.getStatus() != BookingStatus.CANCELLED) {
+                checkVendorFree(booking);
+            }
+            bookingRepository.save(booking);
+            return null;
+        });
     }
 
     public void updateBooking(Booking booking) throws IOException {
-        bookingRepository.update(booking);
+        updateBooking(booking, null);
+    }
+
+    /**
+     * Replaces the booking only while the stored one is still at the expected
+     * version, or unconditionally when it is null.
+     *
+     * @throws StaleEntityException if the booking was changed since
+     */
+    public void updateBooking(Booking booking, EntityVersion expected) throws IOException {
+        withVendorLocks(booking.getBookingId(), booking.getVendorId(), () -> {
+            if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                checkVendorFree(booking);
+            }
+            bookingRepository.update(booking, expected);
+            return null;
+        });
     }
 
     public void deleteBooking(String bookingId) throws IOException {
@@ -43,33 +141,105 @@ public class BookingService {
     }
     
     public void confirmBooking(String bookingId) throws IOException {
-        Booking booking = getBookingById(bookingId);
+        Booking booking = withVendorLocks(bookingId, null, () -> bookingRepository.update(bookingId, current -> {
+            if (current != null) {
+                checkVendorFree(current);
+                current.confirmBooking();
+            }
+            return current;
+        }));
         if (booking != null) {
-            booking.confirmBooking();
-            updateBooking(booking);
-
             // If this is a venue booking and confirmed, update the wedding location
             if ("CONFIRMED".equals(booking.getStatus().name())) {
-                // Fetch the wedding
-                Wedding wedding = weddingRepository.findById(booking.getWeddingId());
-                if (wedding != null) {
-                    // Fetch the vendor (venue)
-                    Vendor vendor = vendorRepository.findById(booking.getVendorId());
-                    if (vendor != null) {
-                        wedding.setLocation(vendor.getName());
-                        wedding.setAddress(vendor.getAddress());
-                        weddingRepository.update(wedding);
-                    }
+                // Fetch the vendor (venue)
+                Vendor vendor = vendorRepository.findById(booking.getVendorId());
+                if (vendor != null) {
+                    weddingRepository.update(booking.getWeddingId(), wedding -> {
+                        if (wedding != null) {
+                            wedding.setLocation(vendor.getName());
+                            wedding.setAddress(vendor.getAddress());
+                        }
+                        return wedding;
+                    });
                 }
             }
         }
     }
     
-    public void cancelBooking(String bookingId) throws IOException {
-        Booking booking = getBookingById(bookingId);
-        if (booking != null) {
-            booking.cancelBooking();
-            updateBooking(booking);
+    @FunctionalInterface
+    private interface VendorLockedAction<R> {
+        R run() throws IOException;
+    }
+
+    // Runs the action holding the locks of the booking's stored vendor and of
+    // newVendorId, so a booking moving between vendors holds both schedules.
+    // The stored vendor is read again once locked, and if a concurrent update
+    // moved the booking in between, the locks are taken again for its new vendor.
+    private <R> R withVendorLocks(String bookingId, String newVendorId, VendorLockedAction<R> action)
+            throws IOException {
+        while (true) {
+            String storedVendorId = storedVendorId(bookingId);
+            List<Lock> locks = vendorLocks.getAll(storedVendorId, newVendorId);
+            for (Lock lock : locks) {
+                lock.lock();
+            }
+            try {
+                if (Objects.equals(storedVendorId, storedVendorId(bookingId))) {
+                    return action.run();
+                }
+            } finally {
+                for (int i = locks.size() - 1; i >= 0; i--) {
+                    locks.get(i).unlock();
+                }
+            }
+        }
+    }
+
+    private String storedVendorId(String bookingId) throws IOException {
+        Booking stored = bookingId == null ? null : bookingRepository.findById(bookingId);
+        return stored == null ? null : stored.getVendorId();
+    }
+
+    private void checkVendorFree(Booking booking) {
+        if (bookingRepository.isVendorBooked(booking.getVendorId(), booking.getDate(), booking.getBookingId())) {
+            throw new BookingConflictException("Vendor " + booking.getVendorId()
+                    + " already has a confirmed booking on that date");
         }
     }
+
+    // The index lookup already narrowed the list to one vendor, couple or wedding
+    private List<Booking> withinRange(List<Booking> bookings, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return bookings;
+        }
+        Date start = startOf(from);
+        Date end = endOf(to);
+        List<Booking> matches = new ArrayList<>();
+        for (Booking booking : bookings) {
+            Date date = booking.getDate();
+            if (date != null && (start == null || !date.before(start)) && (end == null || !date.after(end))) {
+                matches.add(booking);
+            }
+        }
+        return matches;
+    }
+
+    private static Date startOf(LocalDate day) {
+        return day == null ? null : Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    // Last millisecond of the day
+    private static Date endOf(LocalDate day) {
+        return day == null ? null
+                : new Date(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli() - 1);
+    }
+
+    public void cancelBooking(String bookingId) throws IOException {
+        bookingRepository.update(bookingId, booking -> {
+            if (booking != null) {
+                booking.cancelBooking();
+            }
+            return booking;
+        });
+    }
 }
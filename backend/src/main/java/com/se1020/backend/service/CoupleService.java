@@ -4,6 +4,8 @@ import com.se1020.backend.model.Couple;
 import com.se1020.backend.model.User;
 import com.se1020.backend.repository.CoupleRepository;
 import com.se1020.backend.repository.UserRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityVersion;
 import com.se1020.backend.enums.UserRole;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -25,10 +27,22 @@ public class CoupleService {
         return coupleRepository.findAll();
     }
 
+    public EntityPage<Couple> getCouplePage(String after, int limit) {
+        return coupleRepository.findPage(after, limit);
+    }
+
     public Couple getCoupleById(String id) throws IOException {
         return coupleRepository.findById(id);
     }
 
+    public EntityVersion getCouplesVersion() {
+        return coupleRepository.getVersion();
+    }
+
+    public EntityVersion getCoupleVersion(String id) {
+        return coupleRepository.getVersion(id);
+    }
+
     public void createCouple(Couple couple) throws IOException {
         // Generate ID for the couple if not provided
         if (couple.getId() == null || couple.getId().isEmpty()) {
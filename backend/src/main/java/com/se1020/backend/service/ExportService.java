@@ -0,0 +1,118 @@
+package com.se1020.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.se1020.backend.model.Booking;
+import com.se1020.backend.model.Review;
+import com.se1020.backend.model.Task;
+import com.se1020.backend.model.Wedding;
+import com.se1020.backend.repository.BookingRepository;
+import com.se1020.backend.repository.ReviewRepository;
+import com.se1020.backend.repository.TaskRepository;
+import com.se1020.backend.repository.WeddingRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk export of whole collections as newline-delimited JSON. Entities are
+ * read in id order a chunk at a time and written out before the next chunk is
+ * read, so memory stays constant however large the collection is, and the
+ * store lock is only held while a chunk is copied out.
+ *
+ * Users of every role carry credentials, so admins, couples, vendors and
+ * users are not exported, just as they are left out of sync.
+ */
+@Service
+public class ExportService {
+    // Entities read per step; no more than this are held at once
+    static final int CHUNK_SIZE = 256;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private WeddingRepository weddingRepository;
+
+    private final Map<String, Source> sources = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void registerSources() {
+        sources.put("bookings", new Source(Booking.class, bookingRepository::findPage));
+        sources.put("reviews", new Source(Review.class, reviewRepository::findPage));
+        sources.put("tasks", new Source(Task.class, taskRepository::findPage));
+        sources.put("weddings", new Source(Wedding.class, weddingRepository::findPage));
+    }
+
+    public Set<String> getEntityTypes() {
+        return sources.keySet();
+    }
+
+    public boolean supports(String entityType) {
+        return sources.containsKey(entityType);
+    }
+
+    /**
+     * Writes every entity of the type written at or after modifiedSince (epoch
+     * millis) to out, one JSON object per line, and flushes after each chunk.
+     *
+     * @return the number of entities written
+     */
+    public long export(String entityType, long modifiedSince, OutputStream out) throws IOException {
+        Source source = sources.get(entityType);
+        if (source == null) {
+            throw new IllegalArgumentException("Unknown entity type " + entityType);
+        }
+        // Written with the declared type, as the list endpoints do
+        ObjectWriter writer = objectMapper.writerFor(source.type);
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            String after = null;
+            do {
+                EntityPage<?> page = source.pages.page(after, CHUNK_SIZE, modifiedSince);
+                for (Object entity : page.getItems()) {
+                    writer.writeValue(generator, entity);
+                    generator.writeRaw('\n');
+                    written++;
+                }
+                generator.flush();
+                after = page.getNextCursor();
+            } while (after != null);
+        }
+        return written;
+    }
+
+    @FunctionalInterface
+    private interface PageSource {
+        EntityPage<?> page(String after, int limit, long modifiedSince);
+    }
+
+    private static class Source {
+        final Class<?> type;
+        final PageSource pages;
+
+        Source(Class<?> type, PageSource pages) {
+            this.type = type;
+            this.pages = pages;
+        }
+    }
+}
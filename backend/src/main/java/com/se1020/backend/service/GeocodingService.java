@@ -0,0 +1,88 @@
+package com.se1020.backend.service;
+
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.Wedding;
+import com.se1020.backend.util.geo.GeoPoint;
+import com.se1020.backend.util.geo.GeocodeTable;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Resolves addresses to coordinates from an offline table of place names, so
+ * no geocoding API is needed. Point geocoding.table at another CSV file to
+ * use a bigger table or a stub.
+ */
+@Service
+public class GeocodingService {
+
+    @Value("${geocoding.table:classpath:geocode/places.csv}")
+    private Resource tableResource;
+
+    private GeocodeTable table;
+
+    @PostConstruct
+    public void loadTable() throws IOException {
+        try (InputStream input = tableResource.getInputStream()) {
+            table = GeocodeTable.fromCsv(input);
+        }
+    }
+
+    public GeoPoint locate(String address) {
+        return table.locate(address);
+    }
+
+    // The stored coordinates, or the geocoded address when the vendor has none
+    public GeoPoint locationOf(Vendor vendor) {
+        if (vendor.getLatitude() != null && vendor.getLongitude() != null) {
+            return new GeoPoint(vendor.getLatitude(), vendor.getLongitude());
+        }
+        return locate(vendor.getAddress());
+    }
+
+    public GeoPoint locationOf(Wedding wedding) {
+        if (wedding.getLatitude() != null && wedding.getLongitude() != null) {
+            return new GeoPoint(wedding.getLatitude(), wedding.getLongitude());
+        }
+        GeoPoint point = locate(wedding.getAddress());
+        return point != null ? point : locate(wedding.getLocation());
+    }
+
+    /**
+     * Geocodes the vendor's address when it has no coordinates, or when the
+     * address changed but the coordinates were carried over unchanged.
+     */
+    public void fillCoordinates(Vendor vendor, Vendor previous) {
+        boolean stale = previous != null
+                && !Objects.equals(vendor.getAddress(), previous.getAddress())
+                && Objects.equals(vendor.getLatitude(), previous.getLatitude())
+                && Objects.equals(vendor.getLongitude(), previous.getLongitude());
+        if (stale || vendor.getLatitude() == null || vendor.getLongitude() == null) {
+            GeoPoint point = locate(vendor.getAddress());
+            vendor.setLatitude(point != null ? point.getLatitude() : null);
+            vendor.setLongitude(point != null ? point.getLongitude() : null);
+        }
+    }
+
+    public void fillCoordinates(Wedding wedding, Wedding previous) {
+        boolean stale = previous != null
+                && (!Objects.equals(wedding.getAddress(), previous.getAddress())
+                        || !Objects.equals(wedding.getLocation(), previous.getLocation()))
+                && Objects.equals(wedding.getLatitude(), previous.getLatitude())
+                && Objects.equals(wedding.getLongitude(), previous.getLongitude());
+        if (stale || wedding.getLatitude() == null || wedding.getLongitude() == null) {
+            wedding.setLatitude(null);
+            wedding.setLongitude(null);
+            GeoPoint point = locationOf(wedding);
+            if (point != null) {
+                wedding.setLatitude(point.getLatitude());
+                wedding.setLongitude(point.getLongitude());
+            }
+        }
+    }
+}
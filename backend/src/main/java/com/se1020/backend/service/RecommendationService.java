@@ -0,0 +1,246 @@
+package com.se1020.backend.service;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Booking;
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBundle;
+import com.se1020.backend.model.VendorRecommendation;
+import com.se1020.backend.model.Wedding;
+import com.se1020.backend.repository.BookingRepository;
+import com.se1020.backend.repository.VendorRepository;
+import com.se1020.backend.repository.WeddingRepository;
+import com.se1020.backend.repository.store.EntityStoreListener;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.util.dsa.TopKSelector;
+import com.se1020.backend.util.dsa.VendorBundleOptimizer;
+import com.se1020.backend.util.dsa.WeddingVendorScorer;
+import com.se1020.backend.util.geo.GeoPoint;
+import com.se1020.backend.util.geo.ServiceAreaIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks approved vendors of every type for one wedding by budget fit, rating,
+ * availability on the wedding day and distance to the wedding.
+ *
+ * Results are cached per wedding. Any vendor or booking change bumps the
+ * catalog version, and a cached result is only served while both that version
+ * and the stored wedding are still the ones it was computed from.
+ */
+@Service
+public class RecommendationService {
+
+    // Each DP cell keeps this many partial bundles, so the limit bounds memory per request
+    public static final int MAX_BUNDLES = 50;
+
+    private static final Comparator<VendorRecommendation> BY_SCORE = Comparator
+            .comparingDouble(VendorRecommendation::getScore)
+            .thenComparing(recommendation -> recommendation.getVendor().getId(),
+                    Comparator.nullsFirst(Comparator.reverseOrder()));
+
+    @Autowired
+    private WeddingRepository weddingRepository;
+
+    @Autowired
+    private VendorRepository vendorRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VendorService vendorService;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private final Map<String, CachedRecommendations> cache = new ConcurrentHashMap<>();
+
+    private final VendorBundleOptimizer bundleOptimizer = new VendorBundleOptimizer(ForkJoinPool.commonPool(),
+            VendorBundleOptimizer.DEFAULT_PRICE_STEPS);
+
+    @PostConstruct
+    public void registerInvalidation() {
+        vendorRepository.addListener(new EntityStoreListener<Vendor>() {
+            @Override
+            public void onPut(String id, Vendor previous, Vendor current) {
+                catalogVersion.incrementAndGet();
+            }
+
+            @Override
+            public void onDelete(String id, Vendor previous) {
+                catalogVersion.incrementAndGet();
+            }
+        });
+        bookingRepository.addListener(new EntityStoreListener<Booking>() {
+            @Override
+            public void onPut(String id, Booking previous, Booking current) {
+                catalogVersion.incrementAndGet();
+            }
+
+            @Override
+            public void onDelete(String id, Booking previous) {
+                catalogVersion.incrementAndGet();
+            }
+        });
+        // Stale entries would never be served anyway; this only frees them early
+        weddingRepository.addListener(new EntityStoreListener<Wedding>() {
+            @Override
+            public void onPut(String id, Wedding previous, Wedding current) {
+                cache.remove(id);
+            }
+
+            @Override
+            public void onDelete(String id, Wedding previous) {
+                cache.remove(id);
+            }
+        });
+    }
+
+    /**
+     * The best limit vendors of each type for the wedding, best first.
+     *
+     * @return null if there is no such wedding
+     */
+    public Map<VendorType, List<VendorRecommendation>> getRecommendations(String weddingId, int limit)
+            throws IOException {
+        limit = Math.max(0, limit);
+        long version = catalogVersion.get();
+        Wedding wedding = weddingRepository.findById(weddingId);
+        if (wedding == null) {
+            return null;
+        }
+        CachedRecommendations cached = cache.get(weddingId);
+        if (cached != null && cached.version == version && cached.wedding == wedding && cached.limit >= limit) {
+            return truncate(cached.recommendations, limit);
+        }
+
+        Map<VendorType, List<VendorRecommendation>> recommendations = rank(wedding, limit);
+        cache.put(weddingId, new CachedRecommendations(wedding, version, limit, recommendations));
+        return truncate(recommendations, limit);
+    }
+
+    /**
+     * The version of everything the recommendations and bundles for the
+     * wedding are computed from: the wedding itself, the vendors and the
+     * bookings.
+     *
+     * @return null if there is no such wedding
+     */
+    public EntityVersion getVersion(String weddingId) {
+        EntityVersion wedding = weddingRepository.getVersion(weddingId);
+        if (wedding == null) {
+            return null;
+        }
+        return wedding.and(vendorRepository.getVersion()).and(bookingRepository.getVersion());
+    }
+
+    private Map<VendorType, List<VendorRecommendation>> rank(Wedding wedding, int limit) {
+        GeoPoint location = geocodingService.locationOf(wedding);
+        WeddingVendorScorer scorer = new WeddingVendorScorer(wedding.getBudget(),
+                wedding.getDate() == null ? null : vendorService.getFreeVendorIds(
+                        wedding.getDate().toInstant().atZone(ZoneOffset.UTC).toLocalDate()),
+                location == null ? null : vendorService.getServiceAreasCovering(location));
+
+        // Scoring and grouping run on the common fork/join pool; each type then keeps its best few
+        ConcurrentMap<VendorType, List<VendorRecommendation>> scored = vendorRepository.findByStatus("APPROVED")
+                .parallelStream()
+                .filter(vendor -> vendor.getVendorType() != null)
+                .map(scorer::score)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingByConcurrent(
+                        recommendation -> recommendation.getVendor().getVendorType()));
+
+        Map<VendorType, List<VendorRecommendation>> recommendations = new EnumMap<>(VendorType.class);
+        for (VendorType vendorType : VendorType.values()) {
+            List<VendorRecommendation> candidates = scored.get(vendorType);
+            recommendations.put(vendorType, candidates == null
+                    ? new ArrayList<>()
+                    : TopKSelector.top(candidates, limit, BY_SCORE));
+        }
+        return recommendations;
+    }
+
+    /**
+     * The best-rated bundles of one approved vendor of each given type (all
+     * types when none are given) that fit the budget, or the wedding's budget
+     * when none is given. Vendors that cannot take the wedding because of its
+     * date or location are left out. The limit must be 1 to MAX_BUNDLES.
+     *
+     * @return null if there is no such wedding
+     */
+    public List<VendorBundle> getBundles(String weddingId, List<VendorType> vendorTypes, Double budget, int limit)
+            throws IOException {
+        if (limit < 1 || limit > MAX_BUNDLES) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_BUNDLES);
+        }
+        Wedding wedding = weddingRepository.findById(weddingId);
+        if (wedding == null) {
+            return null;
+        }
+        Set<String> free = wedding.getDate() == null ? null : vendorService.getFreeVendorIds(
+                wedding.getDate().toInstant().atZone(ZoneOffset.UTC).toLocalDate());
+        GeoPoint location = geocodingService.locationOf(wedding);
+        Map<String, ServiceAreaIndex.Match<Vendor>> serving = location == null
+                ? null
+                : vendorService.getServiceAreasCovering(location);
+
+        List<List<Vendor>> categories = new ArrayList<>();
+        for (VendorType vendorType : vendorTypes == null || vendorTypes.isEmpty()
+                ? List.of(VendorType.values())
+                : vendorTypes) {
+            List<Vendor> candidates = new ArrayList<>();
+            for (Vendor vendor : vendorRepository.findByType(vendorType)) {
+                if (vendor.isApproved()
+                        && (free == null || free.contains(vendor.getId()))
+                        && (serving == null || serving.containsKey(vendor.getId()))) {
+                    candidates.add(vendor);
+                }
+            }
+            categories.add(candidates);
+        }
+        return bundleOptimizer.optimize(categories, budget != null ? budget : wedding.getBudget(), limit);
+    }
+
+    private static Map<VendorType, List<VendorRecommendation>> truncate(
+            Map<VendorType, List<VendorRecommendation>> recommendations, int limit) {
+        Map<VendorType, List<VendorRecommendation>> copy = new EnumMap<>(VendorType.class);
+        for (Map.Entry<VendorType, List<VendorRecommendation>> entry : recommendations.entrySet()) {
+            List<VendorRecommendation> list = entry.getValue();
+            copy.put(entry.getKey(), new ArrayList<>(list.subList(0, Math.min(limit, list.size()))));
+        }
+        return copy;
+    }
+
+    private static class CachedRecommendations {
+        final Wedding wedding;
+        final long version;
+        final int limit;
+        final Map<VendorType, List<VendorRecommendation>> recommendations;
+
+        CachedRecommendations(Wedding wedding, long version, int limit,
+                Map<VendorType, List<VendorRecommendation>> recommendations) {
+            this.wedding = wedding;
+            this.version = version;
+            this.limit = limit;
+            this.recommendations = recommendations;
+        }
+    }
+}
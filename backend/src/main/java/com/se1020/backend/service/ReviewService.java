@@ -1,9 +1,11 @@
 package com.se1020.backend.service;
 
 import com.se1020.backend.model.Review;
-import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorRatingSummary;
 import com.se1020.backend.repository.ReviewRepository;
 import com.se1020.backend.repository.VendorRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -24,10 +26,22 @@ public class ReviewService {
     public List<Review> getAllReviews() throws IOException {
         return reviewRepository.findAll();
     }
+
+    public EntityPage<Review> getReviewPage(String after, int limit) {
+        return reviewRepository.findPage(after, limit);
+    }
     
     public Review getReviewById(String id) throws IOException {
         return reviewRepository.findById(id);
     }
+
+    public EntityVersion getReviewsVersion() {
+        return reviewRepository.getVersion();
+    }
+
+    public EntityVersion getReviewVersion(String id) {
+        return reviewRepository.getVersion(id);
+    }
     
     public List<Review> getReviewsByVendorId(String vendorId) throws IOException {
         return reviewRepository.findByVendorId(vendorId);
@@ -36,6 +50,10 @@ public class ReviewService {
     public List<Review> getReviewsByCoupleId(String coupleId) throws IOException {
         return reviewRepository.findByCoupleId(coupleId);
     }
+
+    public VendorRatingSummary getVendorRatingSummary(String vendorId) {
+        return reviewRepository.getRatingSummary(vendorId);
+    }
     
     public Review createReview(Review review) throws IOException {
         // Generate ID if not provided
@@ -58,10 +76,16 @@ public class ReviewService {
     }
     
     public void updateReview(Review review) throws IOException {
+        Review previous = getReviewById(review.getReviewId());
+        String previousVendorId = previous != null ? previous.getVendorId() : null;
         reviewRepository.update(review);
         
         // Update vendor's average rating
         updateVendorRating(review.getVendorId());
+        // A review moved to another vendor also changes the old vendor's average
+        if (previousVendorId != null && !previousVendorId.equals(review.getVendorId())) {
+            updateVendorRating(previousVendorId);
+        }
     }
     
     public void deleteReview(String reviewId) throws IOException {
@@ -76,27 +100,19 @@ public class ReviewService {
     }
     
     /**
-     * Updates the average rating for a vendor based on all their reviews
+     * Copies the vendor's average from the running review totals into the vendor.
+     * The totals are read inside the vendor update so that concurrent review
+     * changes for the same vendor cannot overwrite each other's result.
      */
     private void updateVendorRating(String vendorId) throws IOException {
-        List<Review> vendorReviews = getReviewsByVendorId(vendorId);
-        
-        if (vendorReviews.isEmpty()) {
-            return;
-        }
-        
-        // Calculate average rating
-        double totalRating = 0;
-        for (Review r : vendorReviews) {
-            totalRating += r.getRating();
-        }
-        double averageRating = totalRating / vendorReviews.size();
-        
-        // Update vendor's rating
-        Vendor vendor = vendorRepository.findById(vendorId);
-        if (vendor != null) {
-            vendor.setRating(averageRating);
-            vendorRepository.update(vendor);
-        }
+        vendorRepository.update(vendorId, vendor -> {
+            VendorRatingSummary summary = reviewRepository.getRatingSummary(vendorId);
+            if (vendor == null || summary.getReviewCount() == 0
+                    || vendor.getRating() == summary.getAverageRating()) {
+                return null;
+            }
+            vendor.setRating(summary.getAverageRating());
+            return vendor;
+        });
     }
 }
@@ -0,0 +1,155 @@
+package com.se1020.backend.service;
+
+import com.se1020.backend.model.SyncDelta;
+import com.se1020.backend.repository.BookingRepository;
+import com.se1020.backend.repository.TaskRepository;
+import com.se1020.backend.repository.WeddingRepository;
+import com.se1020.backend.repository.store.ChangeLog;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStoreFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delta sync for clients that keep a local copy of the planning data. A client
+ * sends the sequence number of its last sync and gets back only what changed
+ * since, from the store change log, so the cost follows the churn rather than
+ * the size of the data. A client without a number, or one the log can no
+ * longer answer for, gets a full snapshot instead.
+ *
+ * Only the planner's own data is synced: weddings, their tasks and bookings.
+ * Vendors are users and carry credentials, so they are not part of it.
+ *
+ * Changes are delivered at least once: an entity is sent as it is now, which
+ * may include writes after the returned sequence number, and those are sent
+ * again on the next sync.
+ */
+@Service
+public class SyncService {
+    // Entities read per step while building a snapshot
+    private static final int SNAPSHOT_CHUNK_SIZE = 256;
+
+    @Autowired
+    private EntityStoreFactory storeFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private WeddingRepository weddingRepository;
+
+    // Keyed by store name, which is what the change log records
+    private final Map<String, Source> sources = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void registerSources() {
+        sources.put("bookings", new Source(bookingRepository::findPage, bookingRepository::findById));
+        sources.put("tasks", new Source(taskRepository::findPage, taskRepository::findById));
+        sources.put("weddings", new Source(weddingRepository::findPage, weddingRepository::findById));
+    }
+
+    /**
+     * The changes after the given sequence number, or a full snapshot when
+     * since is null or too old.
+     */
+    public SyncDelta sync(Long since) throws IOException {
+        ChangeLog changeLog = storeFactory.getChangeLog();
+        if (since != null) {
+            List<ChangeLog.Change> changes = changeLog.since(since);
+            if (changes != null) {
+                return delta(since, changes);
+            }
+        }
+        return snapshot(changeLog.getSequence());
+    }
+
+    private SyncDelta delta(long since, List<ChangeLog.Change> changes) throws IOException {
+        // Only the last change of each entity matters
+        Map<String, Map<String, ChangeLog.Change>> latest = new LinkedHashMap<>();
+        for (ChangeLog.Change change : changes) {
+            if (sources.containsKey(change.getStoreName())) {
+                latest.computeIfAbsent(change.getStoreName(), name -> new LinkedHashMap<>())
+                        .put(change.getId(), change);
+            }
+        }
+
+        Map<String, List<Object>> upserts = emptyUpserts();
+        Map<String, List<String>> deletes = emptyDeletes();
+        for (Map.Entry<String, Map<String, ChangeLog.Change>> entry : latest.entrySet()) {
+            Source source = sources.get(entry.getKey());
+            for (ChangeLog.Change change : entry.getValue().values()) {
+                if (change.isDeleted()) {
+                    deletes.get(entry.getKey()).add(change.getId());
+                    continue;
+                }
+                Object entity = source.byId.find(change.getId());
+                // Deleted after the last change read; its tombstone comes with the next sync
+                if (entity != null) {
+                    upserts.get(entry.getKey()).add(entity);
+                }
+            }
+        }
+        long sequence = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new SyncDelta(sequence, false, upserts, deletes);
+    }
+
+    private SyncDelta snapshot(long sequence) {
+        // The sequence is read first, so any write the snapshot misses comes with the next sync
+        Map<String, List<Object>> upserts = emptyUpserts();
+        for (Map.Entry<String, Source> entry : sources.entrySet()) {
+            String after = null;
+            do {
+                EntityPage<?> page = entry.getValue().pages.page(after, SNAPSHOT_CHUNK_SIZE);
+                upserts.get(entry.getKey()).addAll(page.getItems());
+                after = page.getNextCursor();
+            } while (after != null);
+        }
+        return new SyncDelta(sequence, true, upserts, emptyDeletes());
+    }
+
+    private Map<String, List<Object>> emptyUpserts() {
+        Map<String, List<Object>> upserts = new LinkedHashMap<>();
+        for (String name : sources.keySet()) {
+            upserts.put(name, new ArrayList<>());
+        }
+        return upserts;
+    }
+
+    private Map<String, List<String>> emptyDeletes() {
+        Map<String, List<String>> deletes = new LinkedHashMap<>();
+        for (String name : sources.keySet()) {
+            deletes.put(name, new ArrayList<>());
+        }
+        return deletes;
+    }
+
+    @FunctionalInterface
+    private interface PageSource {
+        EntityPage<?> page(String after, int limit);
+    }
+
+    @FunctionalInterface
+    private interface ByIdSource {
+        Object find(String id) throws IOException;
+    }
+
+    private static class Source {
+        final PageSource pages;
+        final ByIdSource byId;
+
+        Source(PageSource pages, ByIdSource byId) {
+            this.pages = pages;
+            this.byId = byId;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.se1020.backend.service;
 import com.se1020.backend.model.Task;
 import com.se1020.backend.util.TaskList;
 import com.se1020.backend.repository.TaskRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
@@ -11,7 +13,6 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
@@ -29,6 +30,10 @@ public class TaskService {
         logger.info("Found {} tasks", tasks.size());
         return tasks;
     }
+
+    public EntityPage<Task> getTaskPage(String after, int limit) {
+        return taskRepository.findPage(after, limit);
+    }
     
     public Task getTaskById(String id) throws IOException {
         logger.info("Fetching task with ID: {}", id);
@@ -41,12 +46,17 @@ public class TaskService {
         return task;
     }
 
+    public EntityVersion getTasksVersion() {
+        return taskRepository.getVersion();
+    }
+
+    public EntityVersion getTaskVersion(String id) {
+        return taskRepository.getVersion(id);
+    }
+
     public List<Task> getTasksByWeddingId(String weddingId) throws IOException {
         logger.info("Fetching tasks for wedding ID: {}", weddingId);
-        List<Task> tasks = taskRepository.findAll();
-        List<Task> weddingTasks = tasks.stream()
-                .filter(task -> task.getWeddingId().equals(weddingId))
-                .collect(Collectors.toList());
+        List<Task> weddingTasks = taskRepository.findByWeddingId(weddingId);
         logger.info("Found {} tasks for wedding ID: {}", weddingTasks.size(), weddingId);
         return weddingTasks;
     }
@@ -90,10 +100,14 @@ public class TaskService {
     
     public void markTaskCompleted(String taskId) throws IOException {
         logger.info("Marking task as completed: {}", taskId);
-        Task task = getTaskById(taskId);
+        Task task = taskRepository.update(taskId, current -> {
+            if (current != null) {
+                current.markCompleted();
+            }
+            return current;
+        });
         if (task != null) {
-            task.markCompleted();
-            updateTask(task);
+            taskList.setTasks(taskRepository.findAll());
             logger.info("Successfully marked task as completed: {}", task.getName());
         } else {
             logger.warn("Could not mark task as completed - task not found: {}", taskId);
@@ -2,6 +2,8 @@ package com.se1020.backend.service;
 
 import com.se1020.backend.model.User;
 import com.se1020.backend.repository.UserRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityVersion;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +20,14 @@ public class UserService {
         return usersRepository.findAll();
     }
 
+    public EntityPage<User> getUserPage(String after, int limit) {
+        return usersRepository.findPage(after, limit);
+    }
+
+    public EntityVersion getUsersVersion() {
+        return usersRepository.getVersion();
+    }
+
     public void createUser(User user) throws IOException {
         usersRepository.save(user);
     }
@@ -1,25 +1,129 @@
 package com.se1020.backend.service;
 
+import com.se1020.backend.enums.BookingStatus;
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Booking;
 import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBrowsePage;
+import com.se1020.backend.repository.BookingRepository;
 import com.se1020.backend.repository.VendorRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityStoreListener;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.StaleEntityException;
+import com.se1020.backend.util.dsa.VendorAvailabilityCalendar;
+import com.se1020.backend.util.dsa.VendorFacetCounter;
 import com.se1020.backend.util.dsa.VendorLinkedList;
-import com.se1020.backend.util.dsa.VendorBubbleSorter;
+import com.se1020.backend.util.dsa.VendorMergeSorter;
+import com.se1020.backend.util.dsa.TopKSelector;
+import com.se1020.backend.util.dsa.VendorNameTrie;
 import com.se1020.backend.util.dsa.VendorNode;
+import com.se1020.backend.util.dsa.VendorSearchIndex;
+import com.se1020.backend.util.geo.GeoPoint;
+import com.se1020.backend.util.geo.ServiceAreaIndex;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class VendorService {
 
+    // Same order as the repository's rating index: rating, then id
+    private static final Comparator<Vendor> TOP_RATED_ORDER = Comparator.comparingDouble(Vendor::getRating)
+            .thenComparing(Vendor::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // The availability calendar covers the last month and the next three years, counted from today
+    private static final int AVAILABILITY_PAST_DAYS = 31;
+    private static final int AVAILABILITY_FUTURE_DAYS = 3 * 366;
+
+    // Service radius assumed for vendors that have not set one
+    static final double DEFAULT_SERVICE_RADIUS_KM = 25.0;
+
+    // Larger browse pages are cut down to this, matching the cap on the list endpoints
+    static final int MAX_BROWSE_PAGE_SIZE = 500;
+
     @Autowired
     private VendorRepository vendorRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    private VendorAvailabilityCalendar availabilityCalendar;
+
+    private final VendorSearchIndex searchIndex = new VendorSearchIndex();
+
+    private final VendorNameTrie nameTrie = new VendorNameTrie();
+
+    private final VendorFacetCounter facetCounter = new VendorFacetCounter();
+
+    private final ServiceAreaIndex<Vendor> serviceAreas = new ServiceAreaIndex<>();
+
+    // Fills the in-memory vendor views from the repositories and keeps them in step with every later change
+    @PostConstruct
+    public void buildVendorViews() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        availabilityCalendar = new VendorAvailabilityCalendar(today.minusDays(AVAILABILITY_PAST_DAYS),
+                AVAILABILITY_PAST_DAYS + AVAILABILITY_FUTURE_DAYS + 1);
+        vendorRepository.addListener(new EntityStoreListener<Vendor>() {
+            @Override
+            public void onPut(String id, Vendor previous, Vendor current) {
+                availabilityCalendar.putVendor(current);
+                searchIndex.putVendor(current);
+                nameTrie.putVendor(current);
+                facetCounter.putVendor(current);
+                // Vendors stored before they had coordinates are located from their address
+                GeoPoint location = geocodingService.locationOf(current);
+                if (location != null) {
+                    serviceAreas.put(id, current, location, current.getServiceRadius() != null
+                            ? current.getServiceRadius() : DEFAULT_SERVICE_RADIUS_KM);
+                } else {
+                    serviceAreas.remove(id);
+                }
+            }
+
+            @Override
+            public void onDelete(String id, Vendor previous) {
+                availabilityCalendar.removeVendor(id);
+                searchIndex.removeVendor(id);
+                nameTrie.removeVendor(id);
+                facetCounter.removeVendor(id);
+                serviceAreas.remove(id);
+            }
+        });
+        bookingRepository.addListener(new EntityStoreListener<Booking>() {
+            @Override
+            public void onPut(String id, Booking previous, Booking current) {
+                if (current.getStatus() == BookingStatus.CONFIRMED && current.getDate() != null) {
+                    // Booking dates are stored as UTC midnight
+                    availabilityCalendar.putBooking(id, current.getVendorId(),
+                            current.getDate().toInstant().atZone(ZoneOffset.UTC).toLocalDate());
+                } else {
+                    availabilityCalendar.removeBooking(id);
+                }
+            }
+
+            @Override
+            public void onDelete(String id, Booking previous) {
+                availabilityCalendar.removeBooking(id);
+            }
+        });
+    }
+
     public List<Vendor> getAllVendors() throws IOException {
         VendorLinkedList vendors = vendorRepository.findAll();
         List<Vendor> vendorList = new ArrayList<>();
@@ -31,16 +135,55 @@ public class VendorService {
         return vendorList;
     }
 
+    public EntityPage<Vendor> getVendorPage(String after, int limit) {
+        return vendorRepository.findPage(after, limit);
+    }
+
     public Vendor getVendorById(String id) throws IOException {
         return vendorRepository.findById(id);
     }
 
+    public EntityVersion getVendorsVersion() {
+        return vendorRepository.getVersion();
+    }
+
+    public EntityVersion getVendorVersion(String id) {
+        return vendorRepository.getVersion(id);
+    }
+
+    public EntityVersion getVendorVersion(String id, long trackedVersion) {
+        return vendorRepository.getVersion(id, trackedVersion);
+    }
+
+    // Availability depends on the bookings as well as the vendors
+    public EntityVersion getAvailabilityVersion() {
+        return vendorRepository.getVersion().and(bookingRepository.getVersion());
+    }
+
     public void createVendor(Vendor vendor) throws IOException {
+        geocodingService.fillCoordinates(vendor, null);
         vendorRepository.save(vendor);
     }
 
     public void updateVendor(Vendor vendor) throws IOException {
-        vendorRepository.update(vendor);
+        updateVendor(vendor, null);
+    }
+
+    /**
+     * Saves a profile edit only while the stored vendor is still at the
+     * expected version, or unconditionally when it is null.
+     *
+     * @throws StaleEntityException if the vendor was changed since
+     */
+    public void updateVendor(Vendor vendor, EntityVersion expected) throws IOException {
+        // The rating is derived from reviews, so a profile edit keeps the stored value
+        vendorRepository.update(vendor.getId(), expected, existing -> {
+            if (existing != null) {
+                vendor.setRating(existing.getRating());
+            }
+            geocodingService.fillCoordinates(vendor, existing);
+            return vendor;
+        });
     }
 
     public void deleteVendor(String id) throws IOException {
@@ -48,35 +191,164 @@ public class VendorService {
     }
 
     public List<Vendor> getVendorsSortedByRating() throws IOException {
-        VendorLinkedList vendors = vendorRepository.findAll();
-        Vendor[] vendorArray = vendors.toArray();
-        Arrays.sort(vendorArray, Comparator.comparing(Vendor::getRating).reversed());
-        return Arrays.asList(vendorArray);
+        return vendorRepository.findAllSortedByRating();
     }
 
-    public List<Vendor> getVendorsByPriceRange(Double minPrice, Double maxPrice) throws IOException {
-        VendorLinkedList vendors = vendorRepository.findAll();
-        List<Vendor> filteredVendors = new ArrayList<>();
-        VendorNode current = vendors.getHead();
-        while (current != null) {
-            Vendor vendor = current.getVendor();
-            if (vendor.getBasePrice() >= minPrice && vendor.getBasePrice() <= maxPrice) {
-                filteredVendors.add(vendor);
+    public List<Vendor> getTopRatedVendors(Integer limit, VendorType vendorType) throws IOException {
+        if (vendorType != null) {
+            // The rating index covers all types, so a single type is selected with a bounded heap
+            int k = limit != null ? limit : Integer.MAX_VALUE;
+            return TopKSelector.top(vendorRepository.findByType(vendorType), k, TOP_RATED_ORDER);
+        }
+        if (limit != null) {
+            return vendorRepository.findTopRated(limit);
+        }
+        return vendorRepository.findAllSortedByRating();
+    }
+
+    public List<Vendor> searchVendors(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    public List<Vendor> suggestVendors(String prefix, int limit, boolean tolerateTypo) {
+        return nameTrie.suggest(prefix, limit, tolerateTypo);
+    }
+
+    /**
+     * One page of vendors, best rated first, that pass every given filter, plus
+     * the facet counts over all of them. Without filters the counts come straight
+     * from the maintained counters; with filters they are taken in the same pass
+     * that filters the candidates. Pages hold at most MAX_BROWSE_PAGE_SIZE
+     * vendors, and a page past the end is empty.
+     */
+    public VendorBrowsePage browseVendors(VendorType vendorType, String status, Double minPrice, Double maxPrice,
+            Double minRating, int page, int size) throws IOException {
+        size = Math.max(0, Math.min(MAX_BROWSE_PAGE_SIZE, size));
+        // As a long, so a huge page number cannot wrap around to a negative offset
+        long offset = (long) Math.max(0, page) * size;
+        if (vendorType == null && status == null && minPrice == null && maxPrice == null && minRating == null) {
+            int total = vendorRepository.count();
+            List<Vendor> pageVendors = new ArrayList<>();
+            if (offset < total) {
+                int from = (int) offset;
+                List<Vendor> top = vendorRepository.findTopRated(from + size);
+                pageVendors.addAll(top.subList(Math.min(from, top.size()), top.size()));
+            }
+            return new VendorBrowsePage(pageVendors, total, page, size, facetCounter.getCounts());
+        }
+
+        List<Vendor> candidates;
+        if (vendorType != null) {
+            candidates = vendorRepository.findByType(vendorType);
+            candidates.sort(TOP_RATED_ORDER.reversed());
+        } else {
+            candidates = vendorRepository.findAllSortedByRating();
+        }
+        List<Vendor> matches = new ArrayList<>();
+        for (Vendor vendor : candidates) {
+            if ((status == null || status.equalsIgnoreCase(vendor.getStatus()))
+                    && (minPrice == null || vendor.getBasePrice() >= minPrice)
+                    && (maxPrice == null || vendor.getBasePrice() <= maxPrice)
+                    && (minRating == null || vendor.getRating() >= minRating)) {
+                matches.add(vendor);
             }
-            current = current.getNext();
         }
-        return filteredVendors;
+        List<Vendor> pageVendors = offset < matches.size()
+                ? new ArrayList<>(matches.subList((int) offset, (int) Math.min(matches.size(), offset + size)))
+                : new ArrayList<>();
+        return new VendorBrowsePage(pageVendors, matches.size(), page, size, VendorFacetCounter.count(matches));
     }
 
-    public List<Vendor> getVendorsSortedByPrice(boolean ascending) throws IOException {
-        VendorLinkedList vendors = vendorRepository.findAll();
-        VendorLinkedList sortedVendors = VendorBubbleSorter.sortByPrice(vendors, ascending);
-        List<Vendor> result = new ArrayList<>();
-        VendorNode current = sortedVendors.getHead();
-        while (current != null) {
-            result.add(current.getVendor());
-            current = current.getNext();
+    /**
+     * Approved vendors, optionally of one type, that are open and have no
+     * confirmed booking on any day from first to last inclusive.
+     *
+     * @throws IllegalArgumentException if a day lies outside the calendar horizon
+     */
+    public List<Vendor> getAvailableVendors(VendorType vendorType, LocalDate first, LocalDate last)
+            throws IOException {
+        List<Vendor> vendors = new ArrayList<>();
+        for (String vendorId : currentCalendar().findFree(vendorType, first, last)) {
+            Vendor vendor = vendorRepository.findById(vendorId);
+            if (vendor != null) {
+                vendors.add(vendor);
+            }
+        }
+        return vendors;
+    }
+
+    /**
+     * Vendors, optionally of one type, whose service radius covers the point,
+     * nearest first.
+     */
+    public List<Vendor> getNearbyVendors(GeoPoint point, VendorType vendorType) {
+        List<Vendor> vendors = new ArrayList<>();
+        for (ServiceAreaIndex.Match<Vendor> match : serviceAreas.covering(point)) {
+            if (vendorType == null || match.getValue().getVendorType() == vendorType) {
+                vendors.add(match.getValue());
+            }
         }
-        return result;
+        return vendors;
+    }
+
+    /**
+     * The service area of every vendor that covers the point, by vendor id.
+     */
+    public Map<String, ServiceAreaIndex.Match<Vendor>> getServiceAreasCovering(GeoPoint point) {
+        Map<String, ServiceAreaIndex.Match<Vendor>> areas = new HashMap<>();
+        for (ServiceAreaIndex.Match<Vendor> match : serviceAreas.covering(point)) {
+            areas.put(match.getValue().getId(), match);
+        }
+        return areas;
+    }
+
+    /**
+     * Ids of the approved vendors that are open and unbooked on the day, or
+     * null when the day lies outside the availability calendar.
+     */
+    public Set<String> getFreeVendorIds(LocalDate day) {
+        VendorAvailabilityCalendar calendar = currentCalendar();
+        if (!calendar.covers(day)) {
+            return null;
+        }
+        return new HashSet<>(calendar.findFree(null, day, day));
+    }
+
+    // Rolls the calendar's horizon forward on the first query of each new day
+    private VendorAvailabilityCalendar currentCalendar() {
+        availabilityCalendar.advanceTo(LocalDate.now(ZoneOffset.UTC).minusDays(AVAILABILITY_PAST_DAYS));
+        return availabilityCalendar;
+    }
+
+    /**
+     * Approved vendors, optionally of one type, best rated first. When a point
+     * is given only vendors whose service radius covers it are suggested.
+     */
+    public List<Vendor> suggestVendorsFor(GeoPoint point, VendorType vendorType, int limit) throws IOException {
+        List<Vendor> candidates = point != null
+                ? getNearbyVendors(point, vendorType)
+                : getTopRatedVendors(null, vendorType);
+        List<Vendor> approved = new ArrayList<>();
+        for (Vendor vendor : candidates) {
+            if (vendor.isApproved()) {
+                approved.add(vendor);
+            }
+        }
+        return TopKSelector.top(approved, limit, TOP_RATED_ORDER);
+    }
+
+    public List<Vendor> getVendorsByPriceRange(Double minPrice, Double maxPrice) throws IOException {
+        return vendorRepository.findByPriceRange(minPrice, maxPrice);
+    }
+
+    public List<Vendor> getVendorsSortedByPrice(boolean ascending) throws IOException {
+        return vendorRepository.findAllSortedByPrice(ascending);
+    }
+
+    // Names have no maintained index, so this one sorts the catalog on each call
+    public List<Vendor> getVendorsSortedByName(boolean ascending) throws IOException {
+        VendorLinkedList vendors = VendorMergeSorter.sort(vendorRepository.findAll(),
+                ascending ? VendorMergeSorter.BY_NAME : VendorMergeSorter.BY_NAME.reversed());
+        return Arrays.asList(vendors.toArray());
     }
 }
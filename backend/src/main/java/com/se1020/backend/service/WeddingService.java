@@ -1,7 +1,12 @@
 package com.se1020.backend.service;
 
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
 import com.se1020.backend.model.Wedding;
 import com.se1020.backend.repository.WeddingRepository;
+import com.se1020.backend.repository.store.EntityPage;
+import com.se1020.backend.repository.store.EntityVersion;
+import com.se1020.backend.repository.store.StaleEntityException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,14 +19,40 @@ public class WeddingService {
     @Autowired
     private WeddingRepository weddingRepository;
 
+    @Autowired
+    private VendorService vendorService;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
     public List<Wedding> getAllWeddings() throws IOException {
         return weddingRepository.findAll();
     }
 
+    public EntityPage<Wedding> getWeddingPage(String after, int limit) {
+        return weddingRepository.findPage(after, limit);
+    }
+
     public Wedding getWeddingById(String id) throws IOException {
         return weddingRepository.findById(id);
     }
 
+    public EntityVersion getWeddingsVersion() {
+        return weddingRepository.getVersion();
+    }
+
+    public EntityVersion getWeddingVersion(String id) {
+        return weddingRepository.getVersion(id);
+    }
+
+    public EntityVersion getWeddingVersion(String id, long trackedVersion) {
+        return weddingRepository.getVersion(id, trackedVersion);
+    }
+
+    public List<Wedding> getWeddingsByCoupleId(String coupleId) throws IOException {
+        return weddingRepository.findByCoupleId(coupleId);
+    }
+
     public void createWedding(Wedding wedding) throws IOException {
         // Generate a unique ID if not provided
         if (wedding.getWeddingId() == null || wedding.getWeddingId().isEmpty()) {
@@ -33,11 +64,42 @@ public class WeddingService {
             throw new IllegalArgumentException("Couple ID is required for wedding creation");
         }
         
+        geocodingService.fillCoordinates(wedding, null);
         weddingRepository.save(wedding);
     }
 
     public void updateWedding(Wedding wedding) throws IOException {
-        weddingRepository.update(wedding);
+        updateWedding(wedding, null);
+    }
+
+    /**
+     * Replaces the wedding only while the stored one is still at the expected
+     * version, or unconditionally when it is null.
+     *
+     * @throws StaleEntityException if the wedding was changed since
+     */
+    public void updateWedding(Wedding wedding, EntityVersion expected) throws IOException {
+        weddingRepository.update(wedding.getWeddingId(), expected, existing -> {
+            geocodingService.fillCoordinates(wedding, existing);
+            return wedding;
+        });
+    }
+
+    /**
+     * Approved vendors for a wedding, best rated first. With nearby set, only
+     * vendors serving the wedding's location are suggested, unless that
+     * location is unknown.
+     *
+     * @return null if there is no such wedding
+     */
+    public List<Vendor> getVendorSuggestions(String weddingId, VendorType vendorType, boolean nearby, int limit)
+            throws IOException {
+        Wedding wedding = weddingRepository.findById(weddingId);
+        if (wedding == null) {
+            return null;
+        }
+        return vendorService.suggestVendorsFor(nearby ? geocodingService.locationOf(wedding) : null,
+                vendorType, limit);
     }
 
     public void deleteWedding(String weddingId) throws IOException {
@@ -0,0 +1,32 @@
+package com.se1020.backend.util.dsa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Picks the k greatest items with a bounded min-heap: O(n log k) time and O(k) memory,
+// instead of sorting all n items when only the first few are shown.
+public class TopKSelector {
+
+    // Returns at most k items, greatest first
+    public static <T> List<T> top(Iterable<T> items, int k, Comparator<? super T> comparator) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        // The heap root is the smallest item kept so far, the first one to drop out
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(k, 1024), comparator);
+        for (T item : items) {
+            if (heap.size() < k) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<T> result = new ArrayList<>(heap);
+        result.sort(Collections.reverseOrder(comparator));
+        return result;
+    }
+}
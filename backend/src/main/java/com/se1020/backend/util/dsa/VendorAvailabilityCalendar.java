@@ -0,0 +1,355 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Day-by-day availability of every vendor over a horizon of days, stored as bitmaps.
+//
+// Each vendor gets a slot number. For every day there is one bitmap of the slots that
+// are closed that day (outside the vendor's availability) and one of the slots that
+// hold a confirmed booking, so "who is free" is a few word-level AND/ANDNOT passes
+// over the catalog instead of a per-vendor check.
+//
+// Vendor.availability lists the days a vendor takes work, as "yyyy-MM-dd" or an
+// inclusive range "yyyy-MM-dd/yyyy-MM-dd". A vendor with an empty list is open every day.
+//
+// The horizon rolls forward with advanceTo: bitmaps of days that fall off the front are
+// reused for the days entering at the back, which are filled from the availability
+// lists and the bookings kept for days beyond the horizon.
+public class VendorAvailabilityCalendar {
+    // Only moves under the write lock; volatile so covers() can read it without one
+    private volatile LocalDate firstDay;
+    private final int dayCount;
+    private final BitSet[] closedByDay;
+    private final BitSet[] bookedByDay;
+
+    private final Map<String, Integer> slotsByVendor = new HashMap<>();
+    private final List<String> vendorsBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final BitSet listed = new BitSet();
+    private final BitSet approved = new BitSet();
+    private final Map<VendorType, BitSet> byType = new EnumMap<>(VendorType.class);
+
+    // Confirmed bookings inside the horizon, and how many of them each slot and day holds
+    private final Map<String, Booked> bookings = new HashMap<>();
+    private final Map<Long, Integer> bookingCounts = new HashMap<>();
+    private final Map<Integer, Integer> bookingsPerSlot = new HashMap<>();
+    // Confirmed bookings after the horizon, and the availability of restricted vendors,
+    // so the days entering the horizon can be filled in
+    private final Map<String, LaterBooking> laterBookings = new HashMap<>();
+    private final Map<String, List<String>> availabilityByVendor = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public VendorAvailabilityCalendar(LocalDate firstDay, int dayCount) {
+        this.firstDay = firstDay;
+        this.dayCount = dayCount;
+        this.closedByDay = new BitSet[dayCount];
+        this.bookedByDay = new BitSet[dayCount];
+        for (int day = 0; day < dayCount; day++) {
+            closedByDay[day] = new BitSet();
+            bookedByDay[day] = new BitSet();
+        }
+        for (VendorType type : VendorType.values()) {
+            byType.put(type, new BitSet());
+        }
+    }
+
+    public LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    public LocalDate getLastDay() {
+        return firstDay.plusDays(dayCount - 1);
+    }
+
+    public boolean covers(LocalDate day) {
+        return !day.isBefore(firstDay) && !day.isAfter(getLastDay());
+    }
+
+    public void putVendor(Vendor vendor) {
+        List<String> availability = vendor.getAvailability() == null || vendor.getAvailability().isEmpty()
+                ? null
+                : new ArrayList<>(vendor.getAvailability());
+        lock.writeLock().lock();
+        try {
+            BitSet openDays = openDays(availability);
+            if (availability != null) {
+                availabilityByVendor.put(vendor.getId(), availability);
+            } else {
+                availabilityByVendor.remove(vendor.getId());
+            }
+            int slot = slotFor(vendor.getId());
+            listed.set(slot);
+            approved.set(slot, vendor.isApproved());
+            for (Map.Entry<VendorType, BitSet> entry : byType.entrySet()) {
+                entry.getValue().set(slot, entry.getKey() == vendor.getVendorType());
+            }
+            for (int day = 0; day < dayCount; day++) {
+                closedByDay[day].set(slot, openDays != null && !openDays.get(day));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeVendor(String vendorId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByVendor.get(vendorId);
+            if (slot == null) {
+                return;
+            }
+            availabilityByVendor.remove(vendorId);
+            listed.clear(slot);
+            approved.clear(slot);
+            for (BitSet typeSlots : byType.values()) {
+                typeSlots.clear(slot);
+            }
+            for (BitSet closed : closedByDay) {
+                closed.clear(slot);
+            }
+            releaseIfUnused(vendorId, slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Records a confirmed booking, replacing whatever was recorded for the same booking id
+    public void putBooking(String bookingId, String vendorId, LocalDate date) {
+        lock.writeLock().lock();
+        try {
+            removeBookingLocked(bookingId);
+            if (vendorId == null || date == null) {
+                return;
+            }
+            if (date.isAfter(getLastDay())) {
+                laterBookings.put(bookingId, new LaterBooking(vendorId, date));
+            } else if (covers(date)) {
+                addBookingLocked(bookingId, vendorId, date);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBooking(String bookingId) {
+        lock.writeLock().lock();
+        try {
+            removeBookingLocked(bookingId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the horizon forward so that it starts on the given day, keeping its
+     * length. Days that drop off the front are forgotten; does nothing if the
+     * horizon already starts on or after that day.
+     */
+    public void advanceTo(LocalDate newFirstDay) {
+        if (!newFirstDay.isAfter(firstDay)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long shift = newFirstDay.toEpochDay() - firstDay.toEpochDay();
+            if (shift <= 0) {
+                return;
+            }
+            int kept = (int) Math.max(0, dayCount - shift);
+            BitSet[] dropped = new BitSet[dayCount - kept];
+            System.arraycopy(closedByDay, 0, dropped, 0, dropped.length);
+            System.arraycopy(closedByDay, dayCount - kept, closedByDay, 0, kept);
+            System.arraycopy(dropped, 0, closedByDay, kept, dropped.length);
+            System.arraycopy(bookedByDay, 0, dropped, 0, dropped.length);
+            System.arraycopy(bookedByDay, dayCount - kept, bookedByDay, 0, kept);
+            System.arraycopy(dropped, 0, bookedByDay, kept, dropped.length);
+            for (int day = kept; day < dayCount; day++) {
+                closedByDay[day].clear();
+                bookedByDay[day].clear();
+            }
+            firstDay = newFirstDay;
+
+            // Bookings move to their new day index, or go when their day has passed
+            List<String> bookingIds = new ArrayList<>(bookings.keySet());
+            bookingCounts.clear();
+            for (String bookingId : bookingIds) {
+                Booked booked = bookings.get(bookingId);
+                int day = (int) (booked.day - shift);
+                if (day < 0) {
+                    bookings.remove(bookingId);
+                    if (bookingsPerSlot.merge(booked.slot, -1, Integer::sum) == 0) {
+                        bookingsPerSlot.remove(booked.slot);
+                    }
+                    releaseIfUnused(booked.vendorId, booked.slot);
+                } else {
+                    bookings.put(bookingId, new Booked(booked.vendorId, booked.slot, day));
+                    bookingCounts.merge(key(booked.slot, day), 1, Integer::sum);
+                }
+            }
+
+            for (Map.Entry<String, List<String>> entry : availabilityByVendor.entrySet()) {
+                int slot = slotsByVendor.get(entry.getKey());
+                BitSet openDays = openDays(entry.getValue());
+                for (int day = kept; day < dayCount; day++) {
+                    closedByDay[day].set(slot, !openDays.get(day));
+                }
+            }
+            LocalDate lastDay = getLastDay();
+            laterBookings.entrySet().removeIf(entry -> {
+                if (entry.getValue().date.isAfter(lastDay)) {
+                    return false;
+                }
+                addBookingLocked(entry.getKey(), entry.getValue().vendorId, entry.getValue().date);
+                return true;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the approved vendors, of the given type or of any type when it is null,
+     * that are open and unbooked on every day from first to last inclusive. Both
+     * days must lie within the horizon.
+     */
+    public List<String> findFree(VendorType type, LocalDate first, LocalDate last) {
+        lock.readLock().lock();
+        try {
+            if (!covers(first) || !covers(last)) {
+                throw new IllegalArgumentException("Dates must lie between " + firstDay + " and " + getLastDay());
+            }
+            int from = (int) (first.toEpochDay() - firstDay.toEpochDay());
+            int to = (int) (last.toEpochDay() - firstDay.toEpochDay());
+            BitSet free = (BitSet) approved.clone();
+            free.and(listed);
+            if (type != null) {
+                free.and(byType.get(type));
+            }
+            for (int day = from; day <= to && !free.isEmpty(); day++) {
+                free.andNot(closedByDay[day]);
+                free.andNot(bookedByDay[day]);
+            }
+            List<String> vendorIds = new ArrayList<>(free.cardinality());
+            for (int slot = free.nextSetBit(0); slot >= 0; slot = free.nextSetBit(slot + 1)) {
+                vendorIds.add(vendorsBySlot.get(slot));
+            }
+            return vendorIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns null for an empty list, which means the vendor has no restriction
+    private BitSet openDays(List<String> availability) {
+        if (availability == null || availability.isEmpty()) {
+            return null;
+        }
+        BitSet open = new BitSet(dayCount);
+        for (String entry : availability) {
+            try {
+                String[] bounds = entry.trim().split("/", 2);
+                LocalDate start = LocalDate.parse(bounds[0].trim());
+                LocalDate end = bounds.length > 1 ? LocalDate.parse(bounds[1].trim()) : start;
+                long from = Math.max(0, start.toEpochDay() - firstDay.toEpochDay());
+                long to = Math.min(dayCount - 1, end.toEpochDay() - firstDay.toEpochDay());
+                if (from <= to) {
+                    open.set((int) from, (int) to + 1);
+                }
+            } catch (DateTimeParseException e) {
+                // Free-form entries written before availability had a format are ignored
+            }
+        }
+        return open;
+    }
+
+    private void addBookingLocked(String bookingId, String vendorId, LocalDate date) {
+        int slot = slotFor(vendorId);
+        int day = (int) (date.toEpochDay() - firstDay.toEpochDay());
+        bookings.put(bookingId, new Booked(vendorId, slot, day));
+        bookingCounts.merge(key(slot, day), 1, Integer::sum);
+        bookingsPerSlot.merge(slot, 1, Integer::sum);
+        bookedByDay[day].set(slot);
+    }
+
+    private void removeBookingLocked(String bookingId) {
+        laterBookings.remove(bookingId);
+        Booked booked = bookings.remove(bookingId);
+        if (booked == null) {
+            return;
+        }
+        long key = key(booked.slot, booked.day);
+        if (bookingCounts.merge(key, -1, Integer::sum) == 0) {
+            bookingCounts.remove(key);
+            bookedByDay[booked.day].clear(booked.slot);
+        }
+        if (bookingsPerSlot.merge(booked.slot, -1, Integer::sum) == 0) {
+            bookingsPerSlot.remove(booked.slot);
+        }
+        releaseIfUnused(booked.vendorId, booked.slot);
+    }
+
+    private int slotFor(String vendorId) {
+        Integer slot = slotsByVendor.get(vendorId);
+        if (slot != null) {
+            return slot;
+        }
+        if (freeSlots.isEmpty()) {
+            slot = vendorsBySlot.size();
+            vendorsBySlot.add(vendorId);
+        } else {
+            slot = freeSlots.pop();
+            vendorsBySlot.set(slot, vendorId);
+        }
+        slotsByVendor.put(vendorId, slot);
+        return slot;
+    }
+
+    // A slot stays reserved while its vendor is listed or still has bookings in the horizon
+    private void releaseIfUnused(String vendorId, int slot) {
+        if (!listed.get(slot) && !bookingsPerSlot.containsKey(slot)) {
+            slotsByVendor.remove(vendorId);
+            vendorsBySlot.set(slot, null);
+            freeSlots.push(slot);
+        }
+    }
+
+    private static long key(int slot, int day) {
+        return ((long) slot << 32) | day;
+    }
+
+    private static final class LaterBooking {
+        private final String vendorId;
+        private final LocalDate date;
+
+        private LaterBooking(String vendorId, LocalDate date) {
+            this.vendorId = vendorId;
+            this.date = date;
+        }
+    }
+
+    private static final class Booked {
+        private final String vendorId;
+        private final int slot;
+        private final int day;
+
+        private Booked(String vendorId, int slot, int day) {
+            this.vendorId = vendorId;
+            this.slot = slot;
+            this.day = day;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBundle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Finds the best-rated bundles of one vendor per category whose total price fits a budget:
+// a multiple-choice knapsack, solved for the top N bundles instead of only the best one.
+//
+// Trying every combination is the product of the category sizes. Instead:
+//  1. Dominance pruning. A vendor is dropped when N others in its category cost no more and
+//     rate at least as well, since swapping in any of them gives N bundles that are no worse.
+//     With ratings in tenths this leaves at most about 50 * N vendors per category.
+//  2. Prices are rounded up to budget / priceSteps units, so costs are small integers and
+//     every bundle the rounded costs allow really fits the budget.
+//  3. Dynamic programming over the categories. best[c] holds the N best partial bundles of
+//     the categories so far costing at most c units; the next category extends them. The
+//     capacities of one category are independent, so they are filled on a fork/join pool.
+//
+// Work is O(categories * priceSteps * frontier * N log N), independent of the catalog size
+// once pruned.
+public class VendorBundleOptimizer {
+    public static final int DEFAULT_PRICE_STEPS = 1000;
+
+    // Capacity ranges up to this size are filled by a single task
+    private static final int SPLIT_THRESHOLD = 32;
+
+    // Higher total rating first, then the cheaper bundle
+    private static final Comparator<Partial> BY_VALUE = Comparator.comparingDouble((Partial partial) -> partial.score)
+            .thenComparing(Comparator.comparingDouble((Partial partial) -> partial.price).reversed());
+
+    private static final Comparator<Vendor> CHEAPEST_BEST_RATED = Comparator.comparingDouble(Vendor::getBasePrice)
+            .thenComparing(Comparator.comparingDouble(Vendor::getRating).reversed())
+            .thenComparing(Vendor::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ForkJoinPool pool;
+    private final int priceSteps;
+
+    public VendorBundleOptimizer(ForkJoinPool pool, int priceSteps) {
+        if (priceSteps <= 0) {
+            throw new IllegalArgumentException("priceSteps must be positive");
+        }
+        this.pool = pool;
+        this.priceSteps = priceSteps;
+    }
+
+    /**
+     * The best limit bundles taking one vendor from each category, best first.
+     * The vendors of a bundle are listed in the order of the categories. Returns
+     * an empty list when no bundle fits the budget.
+     */
+    public List<VendorBundle> optimize(List<List<Vendor>> categories, double budget, int limit) {
+        if (limit <= 0 || categories.isEmpty() || budget < 0) {
+            return new ArrayList<>();
+        }
+        double unit = budget > 0 ? budget / priceSteps : 1.0;
+        int capacity = budget > 0 ? priceSteps : 0;
+
+        List<Option[]> options = new ArrayList<>(categories.size());
+        for (List<Vendor> category : categories) {
+            List<Vendor> frontier = frontier(category, limit, budget);
+            if (frontier.isEmpty()) {
+                return new ArrayList<>();
+            }
+            Option[] categoryOptions = new Option[frontier.size()];
+            for (int i = 0; i < categoryOptions.length; i++) {
+                categoryOptions[i] = new Option(frontier.get(i), units(frontier.get(i).getBasePrice(), unit));
+            }
+            options.add(categoryOptions);
+        }
+
+        Partial[][] best = new Partial[capacity + 1][];
+        Partial[] empty = {Partial.EMPTY};
+        for (int c = 0; c <= capacity; c++) {
+            best[c] = empty;
+        }
+        for (int k = 0; k < options.size(); k++) {
+            Partial[][] next = new Partial[capacity + 1][];
+            // The last category is only needed at full capacity
+            int from = k == options.size() - 1 ? capacity : 0;
+            pool.invoke(new LayerTask(best, next, options.get(k), limit, from, capacity));
+            best = next;
+        }
+
+        List<VendorBundle> bundles = new ArrayList<>();
+        for (Partial partial : best[capacity]) {
+            // Guards against rounding in unit; the rounded-up costs already keep bundles in budget
+            if (partial.price <= budget) {
+                bundles.add(toBundle(partial, categories.size()));
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * The vendors of one category that can appear in a top-limit bundle within
+     * the budget, cheapest first: each is rated higher than all but fewer than
+     * limit of the vendors that cost no more.
+     */
+    public static List<Vendor> frontier(List<Vendor> category, int limit, double budget) {
+        List<Vendor> affordable = new ArrayList<>(category.size());
+        double maxRating = Double.NEGATIVE_INFINITY;
+        for (Vendor vendor : category) {
+            if (vendor.getBasePrice() <= budget) {
+                affordable.add(vendor);
+                maxRating = Math.max(maxRating, vendor.getRating());
+            }
+        }
+        // Anything dearer than the limit cheapest top-rated vendors is dominated by them,
+        // which usually leaves only a small prefix of the catalog to sort
+        PriorityQueue<Double> cheapestTopRated = new PriorityQueue<>(Comparator.reverseOrder());
+        for (Vendor vendor : affordable) {
+            if (vendor.getRating() == maxRating) {
+                cheapestTopRated.add(vendor.getBasePrice());
+                if (cheapestTopRated.size() > limit) {
+                    cheapestTopRated.poll();
+                }
+            }
+        }
+        double priceCap = cheapestTopRated.size() == limit ? cheapestTopRated.peek() : budget;
+        List<Vendor> sorted = new ArrayList<>();
+        for (Vendor vendor : affordable) {
+            if (vendor.getBasePrice() <= priceCap) {
+                sorted.add(vendor);
+            }
+        }
+        sorted.sort(CHEAPEST_BEST_RATED);
+
+        // The limit best ratings among the vendors seen so far; the root is the lowest of them
+        PriorityQueue<Double> bestRatings = new PriorityQueue<>();
+        List<Vendor> frontier = new ArrayList<>();
+        for (Vendor vendor : sorted) {
+            if (bestRatings.size() < limit) {
+                frontier.add(vendor);
+                bestRatings.add(vendor.getRating());
+            } else if (vendor.getRating() > bestRatings.peek()) {
+                frontier.add(vendor);
+                bestRatings.poll();
+                bestRatings.add(vendor.getRating());
+            }
+        }
+        return frontier;
+    }
+
+    private static int units(double price, double unit) {
+        return price <= 0 ? 0 : (int) Math.ceil(price / unit - 1e-9);
+    }
+
+    private static VendorBundle toBundle(Partial partial, int size) {
+        List<Vendor> vendors = new ArrayList<>(size);
+        for (Partial p = partial; p.vendor != null; p = p.parent) {
+            vendors.add(p.vendor);
+        }
+        Collections.reverse(vendors);
+        return new VendorBundle(vendors, partial.price, partial.score / size);
+    }
+
+    // Fills next[c] for capacities from..to from the previous category's best[]
+    private static class LayerTask extends RecursiveAction {
+        private final Partial[][] previous;
+        private final Partial[][] next;
+        private final Option[] options;
+        private final int limit;
+        private final int from;
+        private final int to;
+
+        LayerTask(Partial[][] previous, Partial[][] next, Option[] options, int limit, int from, int to) {
+            this.previous = previous;
+            this.next = next;
+            this.options = options;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from < SPLIT_THRESHOLD) {
+                for (int c = from; c <= to; c++) {
+                    next[c] = fill(c);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LayerTask(previous, next, options, limit, from, middle),
+                    new LayerTask(previous, next, options, limit, middle + 1, to));
+        }
+
+        private Partial[] fill(int capacity) {
+            PriorityQueue<Partial> heap = new PriorityQueue<>(limit + 1, BY_VALUE);
+            for (Option option : options) {
+                if (option.cost > capacity) {
+                    // Options are sorted by price, so no later one fits either
+                    break;
+                }
+                // previous[] lists are best first, so the rest of one can be skipped as soon
+                // as an extension no longer beats the worst bundle kept
+                for (Partial parent : previous[capacity - option.cost]) {
+                    Partial candidate = new Partial(parent, option);
+                    if (heap.size() < limit) {
+                        heap.add(candidate);
+                    } else if (BY_VALUE.compare(candidate, heap.peek()) > 0) {
+                        heap.poll();
+                        heap.add(candidate);
+                    } else {
+                        break;
+                    }
+                }
+            }
+            Partial[] kept = heap.toArray(new Partial[0]);
+            Arrays.sort(kept, BY_VALUE.reversed());
+            return kept;
+        }
+    }
+
+    private static class Option {
+        final Vendor vendor;
+        final int cost;
+        final double rating;
+
+        Option(Vendor vendor, int cost) {
+            this.vendor = vendor;
+            this.cost = cost;
+            this.rating = Math.max(0, Math.min(5, vendor.getRating()));
+        }
+    }
+
+    // A bundle of the categories so far, sharing its prefix with the bundle it extends
+    private static class Partial {
+        static final Partial EMPTY = new Partial();
+
+        final Partial parent;
+        final Vendor vendor;
+        final double score;
+        final double price;
+
+        private Partial() {
+            this.parent = null;
+            this.vendor = null;
+            this.score = 0;
+            this.price = 0;
+        }
+
+        Partial(Partial parent, Option option) {
+            this.parent = parent;
+            this.vendor = option.vendor;
+            this.score = parent.score + option.rating;
+            this.price = parent.price + option.vendor.getBasePrice();
+        }
+    }
+}
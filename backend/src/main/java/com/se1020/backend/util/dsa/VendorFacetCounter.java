@@ -0,0 +1,115 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Vendor counts per type, approval status, price bucket and rating bucket.
+//
+// A counter fed with every vendor mutation keeps the catalog-wide counts current, so
+// reading them is O(1) in the catalog size. The same bucketing counts any filtered
+// subset in one pass.
+public class VendorFacetCounter {
+    public static final String TYPE = "vendorType";
+    public static final String STATUS = "status";
+    public static final String PRICE = "price";
+    public static final String RATING = "rating";
+
+    // Lower bounds of the price buckets, in LKR
+    private static final double[] PRICE_BOUNDS = {0, 25_000, 50_000, 100_000, 250_000};
+    private static final String[] PRICE_LABELS = {"0-25000", "25000-50000", "50000-100000", "100000-250000",
+            "250000+"};
+    private static final String[] RATING_LABELS = {"0-1", "1-2", "2-3", "3-4", "4-5"};
+
+    private final Map<String, Map<String, Long>> counts = emptyCounts();
+    // The buckets each vendor was counted in, so an update can take it out of the old ones
+    private final Map<String, String[]> bucketsByVendor = new HashMap<>();
+
+    public synchronized void putVendor(Vendor vendor) {
+        removeVendor(vendor.getId());
+        String[] buckets = bucketsOf(vendor);
+        bucketsByVendor.put(vendor.getId(), buckets);
+        add(counts, buckets, 1);
+    }
+
+    public synchronized void removeVendor(String vendorId) {
+        String[] buckets = bucketsByVendor.remove(vendorId);
+        if (buckets != null) {
+            add(counts, buckets, -1);
+        }
+    }
+
+    // A copy of the catalog-wide counts
+    public synchronized Map<String, Map<String, Long>> getCounts() {
+        Map<String, Map<String, Long>> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, Long>> facet : counts.entrySet()) {
+            copy.put(facet.getKey(), new LinkedHashMap<>(facet.getValue()));
+        }
+        return copy;
+    }
+
+    public static Map<String, Map<String, Long>> count(Iterable<Vendor> vendors) {
+        Map<String, Map<String, Long>> counts = emptyCounts();
+        for (Vendor vendor : vendors) {
+            add(counts, bucketsOf(vendor), 1);
+        }
+        return counts;
+    }
+
+    public static String priceBucket(double price) {
+        int bucket = 0;
+        while (bucket + 1 < PRICE_BOUNDS.length && price >= PRICE_BOUNDS[bucket + 1]) {
+            bucket++;
+        }
+        return PRICE_LABELS[bucket];
+    }
+
+    public static String ratingBucket(double rating) {
+        return RATING_LABELS[Math.max(0, Math.min(RATING_LABELS.length - 1, (int) Math.floor(rating)))];
+    }
+
+    private static String[] bucketsOf(Vendor vendor) {
+        return new String[] {
+                vendor.getVendorType() != null ? vendor.getVendorType().name() : "NONE",
+                vendor.getStatus() != null ? vendor.getStatus() : "NONE",
+                priceBucket(vendor.getBasePrice()),
+                ratingBucket(vendor.getRating())
+        };
+    }
+
+    private static void add(Map<String, Map<String, Long>> counts, String[] buckets, long delta) {
+        counts.get(TYPE).merge(buckets[0], delta, Long::sum);
+        counts.get(STATUS).merge(buckets[1], delta, Long::sum);
+        counts.get(PRICE).merge(buckets[2], delta, Long::sum);
+        counts.get(RATING).merge(buckets[3], delta, Long::sum);
+    }
+
+    // Every known bucket starts at zero, so clients always see the same keys
+    private static Map<String, Map<String, Long>> emptyCounts() {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        Map<String, Long> types = new LinkedHashMap<>();
+        for (VendorType type : VendorType.values()) {
+            types.put(type.name(), 0L);
+        }
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (String status : new String[] {"PENDING", "APPROVED", "REJECTED"}) {
+            statuses.put(status, 0L);
+        }
+        Map<String, Long> prices = new LinkedHashMap<>();
+        for (String label : PRICE_LABELS) {
+            prices.put(label, 0L);
+        }
+        Map<String, Long> ratings = new LinkedHashMap<>();
+        for (String label : RATING_LABELS) {
+            ratings.put(label, 0L);
+        }
+        counts.put(TYPE, types);
+        counts.put(STATUS, statuses);
+        counts.put(PRICE, prices);
+        counts.put(RATING, ratings);
+        return counts;
+    }
+}
@@ -5,95 +5,126 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.se1020.backend.model.Vendor;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 // Linked list implementation for managing vendors.
+// An id -> node hash index kept alongside the chain gives O(1) lookups and removals,
+// and the tail pointer gives O(1) appends.
 
 public class VendorLinkedList {
+    // Mappers are thread-safe and expensive to build, so toJson/fromJson share one
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     private VendorNode head;
+    private VendorNode tail;
     private int size;
+    private final Map<String, VendorNode> index;
 
     public VendorLinkedList() {
+        this(16);
+    }
+
+    private VendorLinkedList(int expectedSize) {
         this.head = null;
+        this.tail = null;
         this.size = 0;
+        this.index = new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+    }
+
+    // Builds the chain in a single pass, sizing the index up front
+    public static VendorLinkedList fromVendors(Collection<Vendor> vendors) {
+        VendorLinkedList list = new VendorLinkedList(vendors.size());
+        for (Vendor vendor : vendors) {
+            if (list.index.containsKey(vendor.getId())) {
+                list.removeVendor(vendor.getId());
+            }
+            list.append(new VendorNode(vendor));
+        }
+        return list;
     }
 
     public VendorNode getHead() {
         return head;
     }
 
+    public VendorNode getTail() {
+        return tail;
+    }
+
     public int getSize() {
         return size;
     }
 
     public void addVendor(Vendor vendor) {
-        VendorNode newNode = new VendorNode(vendor);
+        // Ids stay unique: adding a vendor that is already listed replaces it
+        removeVendor(vendor.getId());
+        append(new VendorNode(vendor));
+    }
+
+    private void append(VendorNode node) {
         if (head == null) {
-            head = newNode;
+            head = node;
         } else {
-            VendorNode current = head;
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-            current.setNext(newNode);
+            tail.setNext(node);
+            node.setPrev(tail);
         }
+        tail = node;
+        index.put(node.getVendor().getId(), node);
         size++;
     }
 
     public void removeVendor(String vendorId) {
-        if (head == null) {
+        VendorNode node = index.remove(vendorId);
+        if (node == null) {
             return;
         }
 
-        if (head.getVendor().getId().equals(vendorId)) {
-            head = head.getNext();
-            size--;
-            return;
-        }
-
-        VendorNode current = head;
-        while (current.getNext() != null && !current.getNext().getVendor().getId().equals(vendorId)) {
-            current = current.getNext();
+        VendorNode prev = node.getPrev();
+        VendorNode next = node.getNext();
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.setNext(next);
         }
-
-        if (current.getNext() != null) {
-            current.setNext(current.getNext().getNext());
-            size--;
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.setPrev(prev);
         }
+        node.setNext(null);
+        node.setPrev(null);
+        size--;
     }
 
     public Vendor getVendorById(String vendorId) {
-        VendorNode current = head;
-        while (current != null) {
-            if (current.getVendor().getId().equals(vendorId)) {
-                return current.getVendor();
-            }
-            current = current.getNext();
-        }
-        return null;
+        VendorNode node = index.get(vendorId);
+        return node == null ? null : node.getVendor();
+    }
+
+    // Installs a reordered chain of this list's own nodes (see VendorMergeSorter)
+    void relink(VendorNode head, VendorNode tail) {
+        this.head = head;
+        this.tail = tail;
     }
 
     // New method to convert to JSON string
     public String toJson() throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
         List<Vendor> vendorList = new ArrayList<>();
         VendorNode current = head;
         while (current != null) {
             vendorList.add(current.getVendor());
             current = current.getNext();
         }
-        return mapper.writeValueAsString(vendorList);
+        return MAPPER.writeValueAsString(vendorList);
     }
 
     // New method to create from JSON string
     public static VendorLinkedList fromJson(String json) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Vendor> vendorList = mapper.readValue(json, new TypeReference<List<Vendor>>() {});
-        VendorLinkedList list = new VendorLinkedList();
-        for (Vendor vendor : vendorList) {
-            list.addVendor(vendor);
-        }
-        return list;
+        List<Vendor> vendorList = MAPPER.readValue(json, new TypeReference<List<Vendor>>() {});
+        return fromVendors(vendorList);
     }
 
     // New method to get all vendors as array
@@ -0,0 +1,85 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+
+import java.util.Comparator;
+
+// Stable O(n log n) merge sort for vendor linked lists.
+// Works bottom-up by relinking nodes, so it needs no extra arrays and leaves
+// each node holding the same vendor (the list's id index stays valid).
+public class VendorMergeSorter {
+
+    public static final Comparator<Vendor> BY_PRICE = Comparator.comparingDouble(Vendor::getBasePrice);
+
+    public static final Comparator<Vendor> BY_RATING = Comparator.comparingDouble(Vendor::getRating);
+
+    public static final Comparator<Vendor> BY_NAME = Comparator.comparing(Vendor::getName,
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    public static VendorLinkedList sort(VendorLinkedList vendors, Comparator<Vendor> comparator) {
+        if (vendors == null || vendors.getSize() < 2) {
+            return vendors;
+        }
+
+        int size = vendors.getSize();
+        VendorNode sentinel = new VendorNode(null);
+        sentinel.setNext(vendors.getHead());
+
+        // Merge runs of width 1, 2, 4, ... until one run covers the list
+        for (int width = 1; width < size; width *= 2) {
+            VendorNode tail = sentinel;
+            VendorNode current = sentinel.getNext();
+            while (current != null) {
+                VendorNode left = current;
+                VendorNode right = split(left, width);
+                current = split(right, width);
+                tail = merge(left, right, comparator, tail);
+            }
+        }
+
+        // Only next links were maintained while merging; restore prev links and the ends
+        VendorNode previous = null;
+        VendorNode node = sentinel.getNext();
+        while (node != null) {
+            node.setPrev(previous);
+            previous = node;
+            node = node.getNext();
+        }
+        vendors.relink(sentinel.getNext(), previous);
+        return vendors;
+    }
+
+    // Cuts the chain after count nodes and returns the node that followed
+    private static VendorNode split(VendorNode start, int count) {
+        for (int i = 1; start != null && i < count; i++) {
+            start = start.getNext();
+        }
+        if (start == null) {
+            return null;
+        }
+        VendorNode rest = start.getNext();
+        start.setNext(null);
+        return rest;
+    }
+
+    // Appends the merge of two sorted runs after tail and returns the new tail.
+    // Ties take the left node first, which is what makes the sort stable.
+    private static VendorNode merge(VendorNode left, VendorNode right, Comparator<Vendor> comparator,
+            VendorNode tail) {
+        while (left != null && right != null) {
+            if (comparator.compare(right.getVendor(), left.getVendor()) < 0) {
+                tail.setNext(right);
+                right = right.getNext();
+            } else {
+                tail.setNext(left);
+                left = left.getNext();
+            }
+            tail = tail.getNext();
+        }
+        tail.setNext(left != null ? left : right);
+        while (tail.getNext() != null) {
+            tail = tail.getNext();
+        }
+        return tail;
+    }
+}
@@ -0,0 +1,348 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix tree over vendor names and business names for typeahead.
+//
+// Every word of a name starts a key, so "lens" finds "Golden Lens Studio". Each node
+// stores the best rated vendors below it, so a suggestion is a walk down the typed
+// prefix followed by reading one short list. Children are kept in sorted arrays
+// rather than maps to keep the many small nodes compact.
+public class VendorNameTrie {
+    // Suggestions kept per node, and so the most a single lookup can return
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_KEY_LENGTH = 48;
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingDouble((Entry entry) -> -entry.rating)
+            .thenComparing(entry -> entry.vendorId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<String>> keysByVendor = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void putVendor(Vendor vendor) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKeys(keys, vendor.getName());
+        addKeys(keys, vendor.getBusinessName());
+        Entry entry = new Entry(vendor);
+        lock.writeLock().lock();
+        try {
+            removeLocked(vendor.getId());
+            for (String key : keys) {
+                insert(key, entry);
+            }
+            entries.put(vendor.getId(), entry);
+            keysByVendor.put(vendor.getId(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeVendor(String vendorId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(vendorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best rated vendors with a name word starting with prefix. With typo tolerance,
+     * the list is topped up with vendors one edit (a wrong, missing, extra or
+     * swapped letter) away from the prefix, ranked after the exact matches.
+     */
+    public List<Vendor> suggest(String prefix, int limit, boolean tolerateTypo) {
+        String key = normalize(prefix);
+        int wanted = Math.min(limit, MAX_SUGGESTIONS);
+        List<Vendor> suggestions = new ArrayList<>();
+        if (key.isEmpty() || wanted <= 0) {
+            return suggestions;
+        }
+        lock.readLock().lock();
+        try {
+            Set<String> seen = new HashSet<>();
+            Node exact = find(key);
+            if (exact != null) {
+                collect(Arrays.asList(exact.top), wanted, seen, suggestions);
+            }
+            if (tolerateTypo && suggestions.size() < wanted && key.length() > 1) {
+                Set<Node> nearby = new LinkedHashSet<>();
+                walkWithOneEdit(root, key, 0, false, nearby);
+                nearby.remove(exact);
+                List<Entry> candidates = new ArrayList<>();
+                for (Node node : nearby) {
+                    candidates.addAll(Arrays.asList(node.top));
+                }
+                candidates.sort(BEST_FIRST);
+                collect(candidates, wanted, seen, suggestions);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(List<Entry> candidates, int wanted, Set<String> seen, List<Vendor> suggestions) {
+        for (Entry entry : candidates) {
+            if (suggestions.size() >= wanted) {
+                return;
+            }
+            if (seen.add(entry.vendorId)) {
+                suggestions.add(entry.vendor);
+            }
+        }
+    }
+
+    // Nodes whose path equals the key with exactly one edit
+    private void walkWithOneEdit(Node node, String key, int position, boolean edited, Set<Node> found) {
+        if (position == key.length()) {
+            // An exact match is looked up separately
+            if (edited) {
+                found.add(node);
+            }
+            return;
+        }
+        char expected = key.charAt(position);
+        Node next = node.child(expected);
+        if (next != null) {
+            walkWithOneEdit(next, key, position + 1, edited, found);
+        }
+        if (edited) {
+            return;
+        }
+        // An extra letter was typed
+        walkWithOneEdit(node, key, position + 1, true, found);
+        for (int i = 0; i < node.keys.length; i++) {
+            if (node.keys[i] == expected) {
+                continue;
+            }
+            // A wrong letter was typed
+            walkWithOneEdit(node.children[i], key, position + 1, true, found);
+            // A letter was left out
+            walkWithOneEdit(node.children[i], key, position, true, found);
+        }
+        // Two neighbouring letters were swapped
+        if (position + 1 < key.length() && key.charAt(position + 1) != expected) {
+            Node swapped = node.child(key.charAt(position + 1));
+            swapped = swapped == null ? null : swapped.child(expected);
+            if (swapped != null) {
+                walkWithOneEdit(swapped, key, position + 2, true, found);
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private void insert(String key, Entry entry) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+        }
+        Node end = path[key.length()];
+        if (end.terminals == null) {
+            end.terminals = new ArrayList<>(1);
+        }
+        end.terminals.add(entry);
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].offer(entry);
+        }
+    }
+
+    private void remove(String key, String vendorId) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node end = path[key.length()];
+        end.terminals.removeIf(entry -> Objects.equals(entry.vendorId, vendorId));
+        if (end.terminals.isEmpty()) {
+            end.terminals = null;
+        }
+        // Lists only need rebuilding where the vendor was among the best; below that the rest stay valid
+        for (int i = key.length(); i >= 0; i--) {
+            Node node = path[i];
+            if (i > 0 && node.terminals == null && node.keys.length == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            } else if (node.holds(vendorId)) {
+                node.rebuildTop();
+            }
+        }
+    }
+
+    private void removeLocked(String vendorId) {
+        Set<String> keys = keysByVendor.remove(vendorId);
+        entries.remove(vendorId);
+        if (keys != null) {
+            for (String key : keys) {
+                remove(key, vendorId);
+            }
+        }
+    }
+
+    private static void addKeys(Set<String> keys, String name) {
+        String normalized = normalize(name);
+        for (int start = 0; start < normalized.length(); start++) {
+            if (start == 0 || normalized.charAt(start - 1) == ' ') {
+                keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            }
+        }
+    }
+
+    // Lower case, with every run of other characters turned into a single space
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            } else if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        return normalized.toString().trim();
+    }
+
+    private static final class Entry {
+        private final String vendorId;
+        private final double rating;
+        private final Vendor vendor;
+
+        private Entry(Vendor vendor) {
+            this.vendorId = vendor.getId();
+            this.rating = vendor.getRating();
+            this.vendor = vendor;
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        // Vendors whose key ends exactly here
+        private List<Entry> terminals;
+        // Best entries in this subtree, best first, at most MAX_SUGGESTIONS
+        private Entry[] top = NO_ENTRIES;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node child = new Node();
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = child;
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        void removeChild(char c) {
+            int at = Arrays.binarySearch(keys, c);
+            if (at < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at + 1, newKeys, at, keys.length - at - 1);
+            System.arraycopy(children, at + 1, newChildren, at, children.length - at - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean holds(String vendorId) {
+            for (Entry entry : top) {
+                if (Objects.equals(entry.vendorId, vendorId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Adds an entry that was just inserted somewhere in this subtree
+        void offer(Entry entry) {
+            if (holds(entry.vendorId)) {
+                return;
+            }
+            if (top.length == MAX_SUGGESTIONS && BEST_FIRST.compare(entry, top[top.length - 1]) >= 0) {
+                return;
+            }
+            int at = 0;
+            while (at < top.length && BEST_FIRST.compare(top[at], entry) < 0) {
+                at++;
+            }
+            Entry[] updated = new Entry[Math.min(MAX_SUGGESTIONS, top.length + 1)];
+            System.arraycopy(top, 0, updated, 0, at);
+            updated[at] = entry;
+            System.arraycopy(top, at, updated, at + 1, updated.length - at - 1);
+            top = updated;
+        }
+
+        // Merges the lists of the children with the entries ending here
+        void rebuildTop() {
+            List<Entry> candidates = new ArrayList<>();
+            if (terminals != null) {
+                candidates.addAll(terminals);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(BEST_FIRST);
+            List<Entry> best = new ArrayList<>(MAX_SUGGESTIONS);
+            Set<String> seen = new HashSet<>();
+            for (Entry entry : candidates) {
+                if (best.size() == MAX_SUGGESTIONS) {
+                    break;
+                }
+                if (seen.add(entry.vendorId)) {
+                    best.add(entry);
+                }
+            }
+            top = best.toArray(NO_ENTRIES);
+        }
+    }
+}
@@ -3,14 +3,17 @@ package com.se1020.backend.util.dsa;
 import com.se1020.backend.model.Vendor;
 
 // Node class for the Vendor linked list implementation.
+// Nodes are doubly linked so the list can unlink a node it found through its index in O(1).
 
 public class VendorNode {
     private Vendor vendor;
     private VendorNode next;
+    private VendorNode prev;
 
     public VendorNode(Vendor vendor) {
         this.vendor = vendor;
         this.next = null;
+        this.prev = null;
     }
 
     public Vendor getVendor() {
@@ -28,4 +31,12 @@ public class VendorNode {
     public void setNext(VendorNode next) {
         this.next = next;
     }
+
+    public VendorNode getPrev() {
+        return prev;
+    }
+
+    public void setPrev(VendorNode prev) {
+        this.prev = prev;
+    }
 }
@@ -0,0 +1,183 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over vendor name, business name, type and address.
+//
+// Terms are kept in a sorted map, so every term starting with a typed prefix is one
+// sub-map away. A vendor matches a query when each query token equals or prefixes one
+// of its terms; the score adds up, per token, the field weight times the token's
+// inverse document frequency (prefix hits count for less than whole words), and is
+// then scaled up by the vendor's rating.
+public class VendorSearchIndex {
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float TYPE_WEIGHT = 2.0f;
+    private static final float ADDRESS_WEIGHT = 1.0f;
+    private static final double PREFIX_FACTOR = 0.6;
+    // A 5-star vendor scores 50% higher than an unrated one with the same text match
+    private static final double RATING_BOOST = 0.1;
+
+    private final TreeMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final Map<String, Map<String, Float>> termsByVendor = new HashMap<>();
+    private final Map<String, Vendor> vendors = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void putVendor(Vendor vendor) {
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, vendor.getName(), NAME_WEIGHT);
+        addTerms(terms, vendor.getBusinessName(), NAME_WEIGHT);
+        addTerms(terms, vendor.getVendorType() != null ? vendor.getVendorType().name() : null, TYPE_WEIGHT);
+        addTerms(terms, vendor.getAddress(), ADDRESS_WEIGHT);
+        lock.writeLock().lock();
+        try {
+            removeLocked(vendor.getId());
+            for (Map.Entry<String, Float> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(vendor.getId(), term.getValue());
+            }
+            termsByVendor.put(vendor.getId(), terms);
+            vendors.put(vendor.getId(), vendor);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeVendor(String vendorId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(vendorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The best matching vendors for the query, best first, at most limit of them.
+     */
+    public List<Vendor> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        List<ScoredVendor> scored = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+            for (String token : tokens) {
+                Map<String, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every token has to match, so only vendors already in the running total survive
+                    Map<String, Double> both = new HashMap<>();
+                    for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                        Double tokenScore = tokenScores.get(entry.getKey());
+                        if (tokenScore != null) {
+                            both.put(entry.getKey(), entry.getValue() + tokenScore);
+                        }
+                    }
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                Vendor vendor = vendors.get(entry.getKey());
+                scored.add(new ScoredVendor(vendor, entry.getValue() * (1 + RATING_BOOST * vendor.getRating())));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Vendor> result = new ArrayList<>();
+        for (ScoredVendor match : TopKSelector.top(scored, limit, ScoredVendor.ORDER)) {
+            result.add(match.vendor);
+        }
+        return result;
+    }
+
+    // Best score of each vendor for one query token, over its exact and prefix matches.
+    // Rarity is measured for the token as typed, so a rare longer word it happens to
+    // prefix does not outrank the word itself.
+    private Map<String, Double> scoreToken(String token) {
+        Map<String, Double> scores = new HashMap<>();
+        SortedMap<String, Map<String, Float>> matches = postings.subMap(token, token + Character.MAX_VALUE);
+        for (Map.Entry<String, Map<String, Float>> term : matches.entrySet()) {
+            double factor = term.getKey().equals(token) ? 1.0 : PREFIX_FACTOR;
+            for (Map.Entry<String, Float> posting : term.getValue().entrySet()) {
+                scores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        double idf = Math.log(1 + (double) vendors.size() / Math.max(1, scores.size()));
+        scores.replaceAll((vendorId, score) -> score * idf);
+        return scores;
+    }
+
+    private void removeLocked(String vendorId) {
+        Map<String, Float> terms = termsByVendor.remove(vendorId);
+        vendors.remove(vendorId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<String, Float> vendorWeights = postings.get(term);
+            vendorWeights.remove(vendorId);
+            if (vendorWeights.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    // A term that appears in several fields keeps its highest field weight
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    // Lower-cased runs of letters and digits
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static final class ScoredVendor {
+        // Higher score first; ties go to the higher rating, then the smaller id
+        private static final Comparator<ScoredVendor> ORDER = Comparator
+                .comparingDouble((ScoredVendor match) -> match.score)
+                .thenComparingDouble(match -> match.vendor.getRating())
+                .thenComparing(match -> match.vendor.getId(),
+                        Comparator.nullsLast(Comparator.<String>reverseOrder()));
+
+        private final Vendor vendor;
+        private final double score;
+
+        private ScoredVendor(Vendor vendor, double score) {
+            this.vendor = vendor;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorRecommendation;
+import com.se1020.backend.util.geo.ServiceAreaIndex;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+// Scores vendors for one wedding. A scorer is immutable once built, so the catalog can be
+// scored from many threads at once.
+//
+// The score is a weighted sum of budget fit, rating and location. Vendors that are booked or
+// closed on the wedding day, or that do not serve the wedding's location, are left out
+// altogether: no score makes up for a vendor who cannot be hired. An unknown date or
+// location leaves that part neutral instead.
+public class WeddingVendorScorer {
+    static final double BUDGET_WEIGHT = 0.45;
+    static final double RATING_WEIGHT = 0.35;
+    static final double LOCATION_WEIGHT = 0.20;
+    static final double NEUTRAL = 0.5;
+
+    // Usual split of a wedding budget between vendor categories
+    private static final Map<VendorType, Double> BUDGET_SHARES = new EnumMap<>(VendorType.class);
+
+    static {
+        BUDGET_SHARES.put(VendorType.VENUE, 0.40);
+        BUDGET_SHARES.put(VendorType.CATERING, 0.30);
+        BUDGET_SHARES.put(VendorType.PHOTOGRAPHY, 0.12);
+        BUDGET_SHARES.put(VendorType.DECORATION, 0.10);
+        BUDGET_SHARES.put(VendorType.MUSIC, 0.08);
+    }
+
+    private final double budget;
+    private final Set<String> freeVendorIds;
+    private final Map<String, ? extends ServiceAreaIndex.Match<?>> serviceAreas;
+
+    /**
+     * @param freeVendorIds vendors free on the wedding day, or null if the day is unknown
+     * @param serviceAreas  the service area of each vendor that covers the wedding's location,
+     *                      by vendor id, or null if the location is unknown
+     */
+    public WeddingVendorScorer(double budget, Set<String> freeVendorIds,
+            Map<String, ? extends ServiceAreaIndex.Match<?>> serviceAreas) {
+        this.budget = budget;
+        this.freeVendorIds = freeVendorIds;
+        this.serviceAreas = serviceAreas;
+    }
+
+    // Null when the vendor cannot take this wedding
+    public VendorRecommendation score(Vendor vendor) {
+        if (freeVendorIds != null && !freeVendorIds.contains(vendor.getId())) {
+            return null;
+        }
+        Double distance = null;
+        double location = NEUTRAL;
+        if (serviceAreas != null) {
+            ServiceAreaIndex.Match<?> area = serviceAreas.get(vendor.getId());
+            if (area == null) {
+                return null;
+            }
+            distance = area.getDistanceKm();
+            // Full marks at the vendor's door, half at the edge of its service area
+            location = area.getRadiusKm() <= 0 ? 1.0 : 1.0 - 0.5 * Math.min(1.0, distance / area.getRadiusKm());
+        }
+        double budgetFit = budgetFit(budgetFor(vendor.getVendorType()), vendor.getBasePrice());
+        double rating = Math.max(0, Math.min(5, vendor.getRating())) / 5.0;
+        double score = BUDGET_WEIGHT * budgetFit + RATING_WEIGHT * rating + LOCATION_WEIGHT * location;
+        return new VendorRecommendation(vendor, score, budgetFit, rating,
+                freeVendorIds != null ? Boolean.TRUE : null, distance);
+    }
+
+    public double budgetFor(VendorType vendorType) {
+        return budget * BUDGET_SHARES.getOrDefault(vendorType, 0.0);
+    }
+
+    // 1 within the category budget, falling off with the square of the overshoot
+    static double budgetFit(double categoryBudget, double price) {
+        if (categoryBudget <= 0) {
+            return NEUTRAL;
+        }
+        if (price <= categoryBudget) {
+            return 1.0;
+        }
+        double ratio = categoryBudget / price;
+        return ratio * ratio;
+    }
+}
@@ -0,0 +1,72 @@
+package com.se1020.backend.util.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Offline geocoder: a table of place names and their coordinates. An address is
+// located by the longest place name that appears in it as whole words, so
+// "12 Temple Road, Mount Lavinia" resolves to Mount Lavinia rather than to nothing.
+public class GeocodeTable {
+    private final Map<String, GeoPoint> places = new HashMap<>();
+    private int longestName = 1;
+
+    // Reads "name,latitude,longitude" lines; blank lines and lines starting with # are skipped
+    public static GeocodeTable fromCsv(InputStream input) throws IOException {
+        GeocodeTable table = new GeocodeTable();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    throw new IOException("Expected name,latitude,longitude but got: " + line);
+                }
+                table.put(fields[0], Double.parseDouble(fields[1].trim()), Double.parseDouble(fields[2].trim()));
+            }
+        }
+        return table;
+    }
+
+    public void put(String name, double latitude, double longitude) {
+        String[] words = words(name);
+        places.put(String.join(" ", words), new GeoPoint(latitude, longitude));
+        longestName = Math.max(longestName, words.length);
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    // Returns null when no known place appears in the address
+    public GeoPoint locate(String address) {
+        if (address == null) {
+            return null;
+        }
+        String[] words = words(address);
+        for (int length = Math.min(longestName, words.length); length > 0; length--) {
+            for (int start = 0; start + length <= words.length; start++) {
+                GeoPoint point = places.get(String.join(" ", Arrays.copyOfRange(words, start, start + length)));
+                if (point != null) {
+                    return point;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Lower-cased words; hyphens stay inside words so names like "ja-ela" keep working
+    private static String[] words(String text) {
+        String cleaned = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}-]+", " ").trim();
+        return cleaned.isEmpty() ? new String[0] : cleaned.split(" ");
+    }
+}
@@ -0,0 +1,192 @@
+package com.se1020.backend.util.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Answers "which service areas cover this point" without scanning every area.
+//
+// The globe is cut into a fixed grid of CELL_DEGREES cells and each area (a disc of
+// some radius around a location) is listed in every cell its bounding box touches.
+// A point lookup reads one cell and only checks the exact distance for the areas
+// listed there. Areas that would touch more than MAX_CELLS_PER_AREA cells, such as
+// island-wide services, are kept in a short separate list that every lookup checks.
+public class ServiceAreaIndex<T> {
+    static final double CELL_DEGREES = 0.25;
+    static final int MAX_CELLS_PER_AREA = 1024;
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+    private static final int ROWS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final Map<Long, Set<String>> idsByCell = new HashMap<>();
+    private final Map<String, Area<T>> areas = new HashMap<>();
+    private final Set<String> wideAreas = new HashSet<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(String id, T value, GeoPoint center, double radiusKm) {
+        Area<T> area = new Area<>(value, center, Math.max(0, radiusKm));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            area.cells = cellsCovering(area);
+            areas.put(id, area);
+            if (area.cells == null) {
+                wideAreas.add(id);
+                return;
+            }
+            for (long cell : area.cells) {
+                idsByCell.computeIfAbsent(cell, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return areas.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Values whose area contains the point, nearest center first
+    public List<Match<T>> covering(GeoPoint point) {
+        List<Match<T>> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<String> inCell = idsByCell.get(cellOf(point.getLatitude(), point.getLongitude()));
+            if (inCell != null) {
+                collect(inCell, point, matches);
+            }
+            collect(wideAreas, point, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(Match::getDistanceKm));
+        return matches;
+    }
+
+    private void collect(Set<String> ids, GeoPoint point, List<Match<T>> matches) {
+        for (String id : ids) {
+            Area<T> area = areas.get(id);
+            double distance = area.center.distanceKm(point);
+            if (distance <= area.radiusKm) {
+                matches.add(new Match<>(area.value, distance, area.radiusKm));
+            }
+        }
+    }
+
+    private void removeLocked(String id) {
+        Area<T> area = areas.remove(id);
+        if (area == null) {
+            return;
+        }
+        if (area.cells == null) {
+            wideAreas.remove(id);
+            return;
+        }
+        for (long cell : area.cells) {
+            Set<String> ids = idsByCell.get(cell);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByCell.remove(cell);
+            }
+        }
+    }
+
+    // The cells under the area's bounding box, or null when there are too many of them
+    private static long[] cellsCovering(Area<?> area) {
+        double latitude = area.center.getLatitude();
+        double longitude = area.center.getLongitude();
+        double latitudeSpan = area.radiusKm / KM_PER_DEGREE_LATITUDE;
+        double minLatitude = Math.max(-90, latitude - latitudeSpan);
+        double maxLatitude = Math.min(90, latitude + latitudeSpan);
+        // A degree of longitude is shortest at the box edge nearest a pole
+        double cosine = Math.cos(Math.toRadians(Math.max(Math.abs(minLatitude), Math.abs(maxLatitude))));
+        double longitudeSpan = cosine <= 0 ? 360 : area.radiusKm / (KM_PER_DEGREE_LATITUDE * cosine);
+        if (longitudeSpan >= 180) {
+            return null;
+        }
+
+        int firstRow = row(minLatitude);
+        int lastRow = row(maxLatitude);
+        int firstColumn = (int) Math.floor((longitude - longitudeSpan + 180) / CELL_DEGREES);
+        int lastColumn = (int) Math.floor((longitude + longitudeSpan + 180) / CELL_DEGREES);
+        long count = (long) (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1);
+        if (count > MAX_CELLS_PER_AREA) {
+            return null;
+        }
+        long[] cells = new long[(int) count];
+        int next = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                // Columns past the antimeridian wrap around
+                cells[next++] = (long) row * COLUMNS + Math.floorMod(column, COLUMNS);
+            }
+        }
+        return cells;
+    }
+
+    static long cellOf(double latitude, double longitude) {
+        int column = Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+        return (long) row(latitude) * COLUMNS + column;
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static class Area<T> {
+        final T value;
+        final GeoPoint center;
+        final double radiusKm;
+        long[] cells;
+
+        Area(T value, GeoPoint center, double radiusKm) {
+            this.value = value;
+            this.center = center;
+            this.radiusKm = radiusKm;
+        }
+    }
+
+    public static class Match<T> {
+        private final T value;
+        private final double distanceKm;
+        private final double radiusKm;
+
+        Match(T value, double distanceKm, double radiusKm) {
+            this.value = value;
+            this.distanceKm = distanceKm;
+            this.radiusKm = radiusKm;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public double getRadiusKm() {
+            return radiusKm;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.se1020.backend.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Review;
+import com.se1020.backend.model.VendorRatingSummary;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.StorageMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorRatingIndexTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void totalsFollowReviewChangesAndSurviveARestart() throws Exception {
+		EntityStore<Review> store = reviewStore();
+		VendorRatingIndex index = new VendorRatingIndex();
+		store.addListener(index);
+
+		store.save(review("r1", "vendor-1", 5));
+		store.save(review("r2", "vendor-1", 3));
+		store.save(review("r3", "vendor-1", 4));
+		store.save(review("r4", "vendor-2", 1));
+		store.save(review("r2", "vendor-1", 5));
+		store.delete("r3");
+		store.save(review("r4", "vendor-1", 2));
+
+		VendorRatingSummary summary = index.get("vendor-1");
+		assertThat(summary.getReviewCount()).isEqualTo(3);
+		assertThat(summary.getAverageRating()).isEqualTo(4.0);
+		assertThat(summary.getHistogram()).containsExactly(
+				entry(1, 0), entry(2, 1), entry(3, 0), entry(4, 0), entry(5, 2));
+		assertThat(index.get("vendor-2").getReviewCount()).isZero();
+		store.close();
+
+		EntityStore<Review> reopened = reviewStore();
+		VendorRatingIndex rebuilt = new VendorRatingIndex();
+		reopened.addListener(rebuilt);
+		assertThat(rebuilt.get("vendor-1").getHistogram()).isEqualTo(summary.getHistogram());
+		assertThat(rebuilt.get("vendor-1").getAverageRating()).isEqualTo(4.0);
+		reopened.close();
+	}
+
+	@Test
+	void outOfRangeRatingsCountAsTheNearestStarInBothTotals() {
+		// Review.setRating rejects these, but the summary must stay consistent on its own
+		VendorRatingSummary summary = new VendorRatingSummary("vendor-1").with(9, 1).with(0, 1);
+
+		assertThat(summary.getHistogram()).containsExactly(
+				entry(1, 1), entry(2, 0), entry(3, 0), entry(4, 0), entry(5, 1));
+		assertThat(summary.getAverageRating()).isEqualTo(3.0);
+	}
+
+	private EntityStore<Review> reviewStore() {
+		return new EntityStore<>(dataDir.resolve("reviews.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Review>>() {}, Review::getReviewId, StorageMode.JOURNAL);
+	}
+
+	private static Review review(String id, String vendorId, int rating) {
+		return new Review(id, vendorId, "couple-1", null, rating, "comment", null, false);
+	}
+
+	private static Map.Entry<Integer, Integer> entry(int stars, int count) {
+		return Map.entry(stars, count);
+	}
+}
@@ -0,0 +1,74 @@
+package com.se1020.backend.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.enums.BookingStatus;
+import com.se1020.backend.model.Booking;
+import com.se1020.backend.repository.store.EntityStore;
+import com.se1020.backend.repository.store.StorageMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorScheduleIndexTest {
+
+	private static final long DAY = 24L * 60 * 60 * 1000;
+	private static final long MAY_21 = 1747785600000L;
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void onlyConfirmedBookingsTakeTheirDay() throws Exception {
+		EntityStore<Booking> store = bookingStore();
+		VendorScheduleIndex index = new VendorScheduleIndex();
+		store.addListener(index);
+		long day = VendorScheduleIndex.epochDay(new Date(MAY_21));
+
+		store.save(booking("b1", "vendor-1", MAY_21, BookingStatus.REQUESTED));
+		assertThat(index.isTaken("vendor-1", day, null)).isFalse();
+
+		store.update("b1", booking -> {
+			booking.confirmBooking();
+			return booking;
+		});
+		assertThat(index.isTaken("vendor-1", day, null)).isTrue();
+		assertThat(index.isTaken("vendor-1", day, "b1")).isFalse();
+		assertThat(index.isTaken("vendor-1", day + 1, null)).isFalse();
+		assertThat(index.isTaken("vendor-2", day, null)).isFalse();
+
+		store.update("b1", booking -> {
+			booking.cancelBooking();
+			return booking;
+		});
+		assertThat(index.isTaken("vendor-1", day, null)).isFalse();
+		store.close();
+	}
+
+	@Test
+	void aBookingTakesTheWholeUtcDay() throws Exception {
+		EntityStore<Booking> store = bookingStore();
+		VendorScheduleIndex index = new VendorScheduleIndex();
+		store.addListener(index);
+		store.save(booking("b1", "vendor-1", MAY_21 + DAY - 1, BookingStatus.CONFIRMED));
+
+		assertThat(index.isTaken("vendor-1", VendorScheduleIndex.epochDay(new Date(MAY_21)), null)).isTrue();
+		store.delete("b1");
+		assertThat(index.isTaken("vendor-1", VendorScheduleIndex.epochDay(new Date(MAY_21)), null)).isFalse();
+		store.close();
+	}
+
+	private EntityStore<Booking> bookingStore() {
+		return new EntityStore<>(dataDir.resolve("bookings.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Booking>>() {}, Booking::getBookingId, StorageMode.JOURNAL);
+	}
+
+	private static Booking booking(String id, String vendorId, long date, BookingStatus status) {
+		return new Booking(id, "couple-1", vendorId, new Date(date), status, 1000.0);
+	}
+}
@@ -0,0 +1,77 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeLogTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void listsTheChangesAfterASequenceNumberInOrder() {
+		ChangeLog log = new ChangeLog(8, 100);
+		assertThat(log.getSequence()).isEqualTo(99);
+		assertThat(log.since(99)).isEmpty();
+
+		assertThat(log.append("weddings", "w1", false)).isEqualTo(100);
+		log.append("tasks", "t1", false);
+		log.append("weddings", "w1", true);
+
+		assertThat(log.getSequence()).isEqualTo(102);
+		List<ChangeLog.Change> changes = log.since(100);
+		assertThat(changes).extracting(ChangeLog.Change::getSequence).containsExactly(101L, 102L);
+		assertThat(changes).extracting(ChangeLog.Change::getStoreName).containsExactly("tasks", "weddings");
+		assertThat(changes.get(1).getId()).isEqualTo("w1");
+		assertThat(changes.get(1).isDeleted()).isTrue();
+		assertThat(log.since(102)).isEmpty();
+	}
+
+	@Test
+	void cannotAnswerForDroppedOrUnknownSequenceNumbers() {
+		ChangeLog log = new ChangeLog(4, 100);
+		for (int i = 0; i < 10; i++) {
+			log.append("tasks", "t" + i, false);
+		}
+		// 106..109 are still held, so 105 is the oldest number that can be answered for
+		assertThat(log.since(104)).isNull();
+		assertThat(log.since(105)).extracting(ChangeLog.Change::getId).containsExactly("t6", "t7", "t8", "t9");
+		// A number from the future, such as one handed out before a clock change
+		assertThat(log.since(110)).isNull();
+		assertThat(new ChangeLog(4, 100).since(50)).isNull();
+		assertThatThrownBy(() -> new ChangeLog(0, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void storesAppendTheirWritesAndDeletes() throws Exception {
+		ChangeLog log = new ChangeLog(16, 1);
+		EntityStore<Vendor> store = new EntityStore<>(dataDir.resolve("vendors.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Vendor>>() {}, Vendor::getId, StorageMode.JOURNAL, 0, 256);
+		store.setChangeLog(log);
+
+		store.save(vendor("a"));
+		store.update("a", current -> current);
+		store.delete("a");
+		store.delete("missing");
+
+		List<ChangeLog.Change> changes = log.since(0);
+		assertThat(changes).extracting(ChangeLog.Change::getStoreName).containsOnly("vendors");
+		assertThat(changes).extracting(ChangeLog.Change::isDeleted).containsExactly(false, false, true);
+		store.close();
+	}
+
+	private static Vendor vendor(String id) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		return vendor;
+	}
+}
@@ -0,0 +1,76 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityJournalTest {
+
+	@TempDir
+	Path dataDir;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void recordsAfterATornOneMidFileAreStillReplayed() throws Exception {
+		EntityJournal<Vendor> journal = journal();
+		byte[] torn = journal.encodePut("b", vendor("b"));
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		content.write(journal.encodePut("a", vendor("a")));
+		// A failed append left half a record, and the next batch went straight after it
+		content.write(Arrays.copyOf(torn, torn.length / 2));
+		content.write(journal.encodePut("c", vendor("c")));
+		content.write(journal.encodeDelete("a"));
+		content.write(journal.encodePut("d", vendor("d")));
+		Files.write(dataDir.resolve("vendors.journal"), content.toByteArray());
+
+		Map<String, Vendor> entities = new HashMap<>();
+		assertThat(journal.replay(entities)).isEqualTo(4);
+		assertThat(entities).containsOnlyKeys("c", "d");
+
+		journal.append(List.of(journal.encodePut("e", vendor("e"))));
+		journal.close();
+		Map<String, Vendor> reloaded = new HashMap<>();
+		journal().replay(reloaded);
+		assertThat(reloaded).containsOnlyKeys("c", "d", "e");
+	}
+
+	@Test
+	void anUnterminatedLastRecordIsCutOff() throws Exception {
+		EntityJournal<Vendor> journal = journal();
+		byte[] first = journal.encodePut("a", vendor("a"));
+		byte[] torn = journal.encodePut("b", vendor("b"));
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		content.write(first);
+		content.write(Arrays.copyOf(torn, torn.length - 1));
+		Path file = dataDir.resolve("vendors.journal");
+		Files.write(file, content.toByteArray());
+
+		Map<String, Vendor> entities = new HashMap<>();
+		assertThat(journal.replay(entities)).isEqualTo(1);
+		assertThat(entities).containsOnlyKeys("a");
+		assertThat(Files.size(file)).isEqualTo(first.length);
+	}
+
+	private EntityJournal<Vendor> journal() {
+		return new EntityJournal<>(dataDir.resolve("vendors.json").toFile(), objectMapper,
+				objectMapper.constructType(Vendor.class));
+	}
+
+	private static Vendor vendor(String id) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		return vendor;
+	}
+}
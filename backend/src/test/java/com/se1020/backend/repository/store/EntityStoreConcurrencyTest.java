@@ -0,0 +1,154 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Review;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityStoreConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int OPERATIONS_PER_THREAD = 200;
+
+	@TempDir
+	Path dataDir;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void concurrentInsertsAreAllKeptWhileReadersScan() throws Exception {
+		String file = dataDir.resolve("reviews.json").toString();
+		EntityStore<Review> store = reviewStore(file);
+		AtomicBoolean writing = new AtomicBoolean(true);
+
+		ExecutorService readers = Executors.newFixedThreadPool(4);
+		List<Future<Integer>> scans = new ArrayList<>();
+		for (int r = 0; r < 4; r++) {
+			scans.add(readers.submit(() -> {
+				int passes = 0;
+				while (writing.get()) {
+					store.findAll();
+					store.findWhere(review -> "vendor-1".equals(review.getVendorId()));
+					passes++;
+				}
+				return passes;
+			}));
+		}
+
+		runConcurrently((thread, i) -> {
+			Review review = new Review("review-" + thread + "-" + i, "vendor-" + (i % 3), "couple-" + thread,
+					null, 1 + i % 5, "comment", null, false);
+			store.save(review);
+		});
+		writing.set(false);
+		for (Future<Integer> scan : scans) {
+			assertThat(scan.get()).isPositive();
+		}
+		readers.shutdown();
+		store.close();
+
+		assertThat(store.size()).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+		EntityStore<Review> reloaded = reviewStore(file);
+		assertThat(reloaded.size()).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+		reloaded.close();
+	}
+
+	@Test
+	void concurrentUpdatesOfOneEntityAreNotLost() throws Exception {
+		String file = dataDir.resolve("vendors.json").toString();
+		EntityStore<Vendor> store = vendorStore(file);
+		Vendor vendor = new Vendor();
+		vendor.setId("vendor-1");
+		store.save(vendor);
+
+		runConcurrently((thread, i) -> store.update("vendor-1", current -> {
+			current.setBasePrice(current.getBasePrice() + 1);
+			return current;
+		}));
+		store.close();
+
+		assertThat(store.findById("vendor-1").getBasePrice()).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+		EntityStore<Vendor> reloaded = vendorStore(file);
+		assertThat(reloaded.findById("vendor-1").getBasePrice()).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+		reloaded.close();
+	}
+
+	@Test
+	void updatesOfDifferentEntitiesAreNotLostEitherAfterCompaction() throws Exception {
+		String file = dataDir.resolve("vendors.json").toString();
+		EntityStore<Vendor> store = vendorStore(file);
+		for (int v = 0; v < 4; v++) {
+			Vendor vendor = new Vendor();
+			vendor.setId("vendor-" + v);
+			store.save(vendor);
+		}
+
+		runConcurrently((thread, i) -> {
+			if (i == OPERATIONS_PER_THREAD / 2 && thread == 0) {
+				store.compact();
+			}
+			store.update("vendor-" + (thread % 4), current -> {
+				current.setRating(current.getRating() + 1);
+				return current;
+			});
+		});
+		store.close();
+
+		EntityStore<Vendor> reloaded = vendorStore(file);
+		for (int v = 0; v < 4; v++) {
+			assertThat(reloaded.findById("vendor-" + v).getRating())
+					.isEqualTo(THREADS / 4 * OPERATIONS_PER_THREAD);
+		}
+		reloaded.close();
+	}
+
+	private EntityStore<Review> reviewStore(String file) {
+		return new EntityStore<>(file, objectMapper, new TypeReference<List<Review>>() {}, Review::getReviewId,
+				StorageMode.JOURNAL, 500, 256);
+	}
+
+	private EntityStore<Vendor> vendorStore(String file) {
+		return new EntityStore<>(file, objectMapper, new TypeReference<List<Vendor>>() {}, Vendor::getId,
+				StorageMode.JOURNAL, 500, 256);
+	}
+
+	private void runConcurrently(Operation operation) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			futures.add(pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+					operation.run(thread, i);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+	}
+
+	@FunctionalInterface
+	private interface Operation {
+		void run(int thread, int iteration) throws Exception;
+	}
+}
@@ -0,0 +1,67 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityStoreFailureTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void aWriteThatCannotBeJournaledIsUndone() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.addIndex("businessName", Vendor::getBusinessName);
+		store.save(vendor("a", "first"));
+		EntityVersion collection = store.getVersion();
+		EntityVersion before = store.getVersion("a");
+		// Rotating closes the journal, and a directory in its place makes reopening it fail
+		store.compact();
+		Path journal = dataDir.resolve("vendors.journal");
+		Files.createDirectory(journal);
+
+		assertThatThrownBy(() -> store.save(vendor("a", "second"))).isInstanceOf(IOException.class);
+		assertThatThrownBy(() -> store.save(vendor("b", "new"))).isInstanceOf(IOException.class);
+		assertThatThrownBy(() -> store.delete("a")).isInstanceOf(IOException.class);
+
+		assertThat(store.findById("a").getBusinessName()).isEqualTo("first");
+		assertThat(store.findById("b")).isNull();
+		assertThat(store.findBy("businessName", "second")).isEmpty();
+		assertThat(store.findBy("businessName", "first")).extracting(Vendor::getId).containsExactly("a");
+		assertThat(store.getVersion("a").getETag()).isEqualTo(before.getETag());
+		assertThat(store.getVersion().getETag()).isNotEqualTo(collection.getETag());
+
+		Files.delete(journal);
+		store.save(vendor("a", "third"));
+		store.close();
+		EntityStore<Vendor> reopened = vendorStore();
+		assertThat(reopened.findById("a").getBusinessName()).isEqualTo("third");
+		assertThat(reopened.findById("b")).isNull();
+		reopened.close();
+	}
+
+	private EntityStore<Vendor> vendorStore() {
+		EntityStore<Vendor> store = new EntityStore<>(dataDir.resolve("vendors.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Vendor>>() {}, Vendor::getId, StorageMode.JOURNAL, 0, 256);
+		store.trackVersions(Vendor::getVersion, Vendor::setVersion);
+		return store;
+	}
+
+	private static Vendor vendor(String id, String businessName) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setBusinessName(businessName);
+		return vendor;
+	}
+}
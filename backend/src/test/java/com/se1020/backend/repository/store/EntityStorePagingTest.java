@@ -0,0 +1,125 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityStorePagingTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void pagesWalkEveryEntityOnceInIdOrder() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		TreeSet<String> ids = new TreeSet<>();
+		for (int i = 0; i < 103; i++) {
+			// Saved out of id order on purpose
+			String id = "vendor-" + ((i * 37) % 103);
+			store.save(vendor(id));
+			ids.add(id);
+		}
+
+		List<String> walked = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			EntityPage<Vendor> page = store.page(cursor, 10);
+			for (Vendor vendor : page.getItems()) {
+				walked.add(vendor.getId());
+			}
+			cursor = page.getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertThat(walked).containsExactlyElementsOf(ids);
+		assertThat(pages).isEqualTo(11);
+		store.close();
+	}
+
+	@Test
+	void lastFullPageHasNoCursorAndChangesBetweenPagesAreSeen() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.save(vendor("a"));
+		store.save(vendor("b"));
+		store.save(vendor("c"));
+		store.save(vendor("d"));
+
+		EntityPage<Vendor> first = store.page(null, 2);
+		assertThat(first.getItems()).extracting(Vendor::getId).containsExactly("a", "b");
+		assertThat(first.getNextCursor()).isEqualTo("b");
+
+		// A cursor is a key, not a position, so it stays valid when entities come and go
+		store.delete("b");
+		store.delete("c");
+		store.save(vendor("bb"));
+		EntityPage<Vendor> second = store.page(first.getNextCursor(), 2);
+		assertThat(second.getItems()).extracting(Vendor::getId).containsExactly("bb", "d");
+		assertThat(second.getNextCursor()).isNull();
+
+		assertThat(store.page("z", 2).getItems()).isEmpty();
+		assertThatThrownBy(() -> store.page(null, 0)).isInstanceOf(IllegalArgumentException.class);
+		store.close();
+	}
+
+	@Test
+	void idOrderIsRebuiltOnReload() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.save(vendor("b"));
+		store.save(vendor("a"));
+		store.close();
+
+		EntityStore<Vendor> reloaded = vendorStore();
+		assertThat(reloaded.page(null, 10).getItems()).extracting(Vendor::getId).containsExactly("a", "b");
+		reloaded.close();
+	}
+
+	@Test
+	void modifiedSinceSkipsOlderEntitiesAndReloadKeepsFileTimes() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.save(vendor("old"));
+		Thread.sleep(5);
+		long cutoff = System.currentTimeMillis();
+		Thread.sleep(5);
+		store.save(vendor("new"));
+
+		assertThat(store.getLastModified("new")).isGreaterThanOrEqualTo(cutoff);
+		assertThat(store.getLastModified("missing")).isZero();
+		assertThat(store.page(null, 10, cutoff).getItems()).extracting(Vendor::getId).containsExactly("new");
+		EntityPage<Vendor> first = store.page(null, 1, Long.MIN_VALUE);
+		assertThat(first.getNextCursor()).isEqualTo("new");
+		store.close();
+
+		// Both records sit in the journal, so after a restart both carry its time
+		EntityStore<Vendor> reloaded = vendorStore();
+		assertThat(reloaded.getLastModified("old")).isEqualTo(reloaded.getLastModified("new"))
+				.isEqualTo(dataDir.resolve("vendors.journal").toFile().lastModified());
+		reloaded.compact();
+		reloaded.close();
+		EntityStore<Vendor> compacted = vendorStore();
+		assertThat(compacted.getLastModified("old"))
+				.isEqualTo(dataDir.resolve("vendors.json").toFile().lastModified());
+		compacted.close();
+	}
+
+	private EntityStore<Vendor> vendorStore() {
+		return new EntityStore<>(dataDir.resolve("vendors.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Vendor>>() {}, Vendor::getId, StorageMode.JOURNAL, 0, 256);
+	}
+
+	private static Vendor vendor(String id) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		return vendor;
+	}
+}
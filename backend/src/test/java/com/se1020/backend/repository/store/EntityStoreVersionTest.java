@@ -0,0 +1,180 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityStoreVersionTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void collectionVersionChangesOnEveryMutationOnly() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		EntityVersion empty = store.getVersion();
+		assertThat(store.getVersion().getETag()).isEqualTo(empty.getETag());
+
+		store.save(vendor("a"));
+		EntityVersion afterSave = store.getVersion();
+		assertThat(afterSave.getETag()).isNotEqualTo(empty.getETag());
+		assertThat(afterSave.getLastModified()).isEqualTo(store.getLastModified("a"));
+
+		store.findById("a");
+		store.page(null, 10);
+		assertThat(store.getVersion().getETag()).isEqualTo(afterSave.getETag());
+
+		store.delete("a");
+		assertThat(store.getVersion().getETag()).isNotEqualTo(afterSave.getETag()).isNotEqualTo(empty.getETag());
+		store.close();
+	}
+
+	@Test
+	void entityVersionOnlyChangesWhenThatEntityIsWritten() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.save(vendor("a"));
+		EntityVersion a = store.getVersion("a");
+		assertThat(a.getETag()).startsWith("\"").endsWith("\"");
+
+		store.save(vendor("b"));
+		assertThat(store.getVersion("a").getETag()).isEqualTo(a.getETag());
+
+		store.save(vendor("a"));
+		assertThat(store.getVersion("a").getETag()).isNotEqualTo(a.getETag());
+
+		store.delete("a");
+		assertThat(store.getVersion("a")).isNull();
+		assertThat(store.getVersion("missing")).isNull();
+		store.close();
+	}
+
+	@Test
+	void tagsAreNotReusedAfterARestart() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.save(vendor("a"));
+		EntityVersion collection = store.getVersion();
+		EntityVersion entity = store.getVersion("a");
+		store.close();
+
+		EntityStore<Vendor> reloaded = vendorStore();
+		assertThat(reloaded.getVersion().getETag()).isNotEqualTo(collection.getETag());
+		assertThat(reloaded.getVersion("a").getETag()).isNotEqualTo(entity.getETag());
+		assertThat(reloaded.getVersion().getLastModified())
+				.isEqualTo(dataDir.resolve("vendors.journal").toFile().lastModified());
+		reloaded.close();
+	}
+
+	@Test
+	void combinedVersionChangesWithEitherPart() {
+		EntityVersion vendors = new EntityVersion("vendors-1", 100);
+		EntityVersion bookings = new EntityVersion("bookings-1", 200);
+
+		EntityVersion combined = vendors.and(bookings);
+		assertThat(combined.getLastModified()).isEqualTo(200);
+		assertThat(combined.getETag()).isNotEqualTo(vendors.and(new EntityVersion("bookings-2", 200)).getETag())
+				.isNotEqualTo(new EntityVersion("vendors-2", 100).and(bookings).getETag());
+	}
+
+	@Test
+	void trackedVersionsCountWritesAndSurviveARestart() throws Exception {
+		EntityStore<Vendor> store = versionedVendorStore();
+		Vendor a = vendor("a");
+		a.setVersion(42);
+		store.save(a);
+		assertThat(a.getVersion()).isEqualTo(1);
+		store.save(vendor("a"));
+		Vendor updated = store.update("a", current -> current);
+		assertThat(updated.getVersion()).isEqualTo(3);
+		assertThat(store.getVersion("a").getTag()).endsWith("-3");
+		assertThat(store.getVersion("a", 3).getETag()).isEqualTo(store.getVersion("a").getETag());
+		store.close();
+
+		EntityStore<Vendor> reloaded = versionedVendorStore();
+		assertThat(reloaded.findById("a").getVersion()).isEqualTo(3);
+		assertThat(reloaded.getVersion("a").getTag()).endsWith("-3");
+		reloaded.close();
+	}
+
+	@Test
+	void recreatingATrackedEntityGivesNewTags() throws Exception {
+		EntityStore<Vendor> store = versionedVendorStore();
+		store.save(vendor("a"));
+		EntityVersion first = store.getVersion("a");
+		store.delete("a");
+		assertThat(store.getVersion("a", 1)).isNull();
+
+		store.save(vendor("a"));
+		assertThat(store.findById("a").getVersion()).isEqualTo(1);
+		assertThat(store.getVersion("a").getETag()).isNotEqualTo(first.getETag());
+		store.close();
+	}
+
+	@Test
+	void conditionalWritesOnlyApplyAtTheExpectedVersion() throws Exception {
+		EntityStore<Vendor> store = versionedVendorStore();
+		store.save(vendor("a"));
+		EntityVersion seen = store.getVersion("a");
+
+		Vendor first = vendor("a");
+		first.setBusinessName("first");
+		store.save(first, seen);
+		Vendor second = vendor("a");
+		second.setBusinessName("second");
+		assertThatThrownBy(() -> store.save(second, seen)).isInstanceOf(StaleEntityException.class);
+		assertThatThrownBy(() -> store.update("a", seen, current -> second))
+				.isInstanceOf(StaleEntityException.class);
+		assertThat(store.findById("a").getBusinessName()).isEqualTo("first");
+
+		store.update("a", store.getVersion("a"), current -> second);
+		assertThat(store.findById("a").getBusinessName()).isEqualTo("second");
+
+		EntityVersion beforeDelete = store.getVersion("a");
+		store.delete("a");
+		assertThatThrownBy(() -> store.save(vendor("a"), beforeDelete)).isInstanceOf(StaleEntityException.class);
+		assertThat(store.findById("a")).isNull();
+		store.close();
+	}
+
+	@Test
+	void changingAReadOrSavedObjectDoesNotReachTheStore() throws Exception {
+		EntityStore<Vendor> store = versionedVendorStore();
+		store.addIndex("businessName", Vendor::getBusinessName);
+		Vendor saved = vendor("a");
+		saved.setBusinessName("saved");
+		store.save(saved);
+		EntityVersion version = store.getVersion("a");
+
+		saved.setBusinessName("changed after save");
+		store.findById("a").setBusinessName("changed after read");
+
+		assertThat(store.findById("a").getBusinessName()).isEqualTo("saved");
+		assertThat(store.findBy("businessName", "saved")).hasSize(1);
+		assertThat(store.getVersion("a").getETag()).isEqualTo(version.getETag());
+		store.close();
+	}
+
+	private EntityStore<Vendor> versionedVendorStore() {
+		EntityStore<Vendor> store = vendorStore();
+		store.trackVersions(Vendor::getVersion, Vendor::setVersion);
+		return store;
+	}
+
+	private EntityStore<Vendor> vendorStore() {
+		return new EntityStore<>(dataDir.resolve("vendors.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Vendor>>() {}, Vendor::getId, StorageMode.JOURNAL, 0, 256);
+	}
+
+	private static Vendor vendor(String id) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		return vendor;
+	}
+}
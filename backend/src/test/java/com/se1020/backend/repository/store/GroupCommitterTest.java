@@ -0,0 +1,30 @@
+package com.se1020.backend.repository.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+	@Test
+	@Timeout(10)
+	void writesQueuedBeforeCloseAreFlushedAndLaterOnesFail() throws Exception {
+		List<byte[]> written = new ArrayList<>();
+		GroupCommitter committer = new GroupCommitter("test", written::addAll, 1000, 16);
+
+		GroupCommitter.PendingWrite before = committer.submit(new byte[] {1});
+		committer.close();
+		before.await();
+		assertThat(written).hasSize(1);
+
+		GroupCommitter.PendingWrite after = committer.submit(new byte[] {2});
+		assertThatThrownBy(after::await).isInstanceOf(IOException.class);
+		assertThat(written).hasSize(1);
+	}
+}
@@ -0,0 +1,79 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Booking;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashIndexTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void indexFollowsSavesUpdatesAndDeletes() throws Exception {
+		EntityStore<Booking> store = bookingStore();
+		store.save(booking("b1", "vendor-1"));
+		store.addIndex("vendorId", Booking::getVendorId);
+		store.save(booking("b2", "vendor-1"));
+		store.save(booking("b3", "vendor-2"));
+
+		assertThat(ids(store.findBy("vendorId", "vendor-1"))).containsExactly("b1", "b2");
+
+		store.update("b1", booking -> {
+			booking.setVendorId("vendor-2");
+			return booking;
+		});
+		store.delete("b3");
+		assertThat(ids(store.findBy("vendorId", "vendor-1"))).containsExactly("b2");
+		assertThat(ids(store.findBy("vendorId", "vendor-2"))).containsExactly("b1");
+		assertThat(store.findBy("vendorId", "vendor-3")).isEmpty();
+		assertThat(store.findBy("vendorId", null)).isEmpty();
+		store.close();
+	}
+
+	@Test
+	void entityModifiedInPlaceMovesToItsNewKey() throws Exception {
+		EntityStore<Booking> store = bookingStore();
+		store.addIndex("vendorId", Booking::getVendorId);
+		store.save(booking("b1", "vendor-1"));
+
+		Booking stored = store.findById("b1");
+		stored.setVendorId("vendor-2");
+		store.save(stored);
+
+		assertThat(store.findBy("vendorId", "vendor-1")).isEmpty();
+		assertThat(ids(store.findBy("vendorId", "vendor-2"))).containsExactly("b1");
+		store.close();
+	}
+
+	@Test
+	void unknownIndexIsRejected() throws Exception {
+		EntityStore<Booking> store = bookingStore();
+		assertThatThrownBy(() -> store.findBy("status", "CONFIRMED")).isInstanceOf(IllegalArgumentException.class);
+		store.close();
+	}
+
+	private EntityStore<Booking> bookingStore() {
+		return new EntityStore<>(dataDir.resolve("bookings.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Booking>>() {}, Booking::getBookingId, StorageMode.JOURNAL);
+	}
+
+	private static Booking booking(String id, String vendorId) {
+		Booking booking = new Booking();
+		booking.setBookingId(id);
+		booking.setVendorId(vendorId);
+		return booking;
+	}
+
+	private static List<String> ids(List<Booking> bookings) {
+		return bookings.stream().map(Booking::getBookingId).toList();
+	}
+}
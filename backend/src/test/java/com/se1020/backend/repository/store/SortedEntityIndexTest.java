@@ -0,0 +1,112 @@
+package com.se1020.backend.repository.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SortedEntityIndexTest {
+
+	@TempDir
+	Path dataDir;
+
+	@Test
+	void followsInsertsUpdatesAndDeletes() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		store.save(vendor("a", 300));
+		SortedEntityIndex<Vendor> index = new SortedEntityIndex<>(Vendor::getBasePrice);
+		store.addListener(index);
+
+		store.save(vendor("b", 100));
+		store.save(vendor("c", 200));
+		store.save(vendor("d", 200));
+		assertThat(ids(index.ascending())).containsExactly("b", "c", "d", "a");
+		assertThat(ids(index.descending())).containsExactly("a", "d", "c", "b");
+
+		store.update("b", vendor -> {
+			vendor.setBasePrice(500);
+			return vendor;
+		});
+		store.delete("c");
+		assertThat(ids(index.ascending())).containsExactly("d", "a", "b");
+		assertThat(index.size()).isEqualTo(3);
+		store.close();
+	}
+
+	@Test
+	void rangeIsInclusiveAndAcceptsOpenBounds() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		SortedEntityIndex<Vendor> index = new SortedEntityIndex<>(Vendor::getBasePrice);
+		store.addListener(index);
+		for (int i = 1; i <= 10; i++) {
+			store.save(vendor("v" + i, i * 100));
+		}
+
+		assertThat(ids(index.range(300.0, 500.0))).containsExactly("v3", "v4", "v5");
+		assertThat(ids(index.range(null, 200.0))).containsExactly("v1", "v2");
+		assertThat(ids(index.range(950.0, null))).containsExactly("v10");
+		assertThat(index.range(600.0, 500.0)).isEmpty();
+		assertThat(ids(index.highest(3))).containsExactly("v10", "v9", "v8");
+		assertThat(index.highest(50)).hasSize(10);
+		store.close();
+	}
+
+	@Test
+	void entityModifiedInPlaceIsReindexedUnderItsNewKey() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		SortedEntityIndex<Vendor> index = new SortedEntityIndex<>(Vendor::getBasePrice);
+		store.addListener(index);
+		store.save(vendor("a", 100));
+		store.save(vendor("b", 200));
+
+		Vendor stored = store.findById("a");
+		stored.setBasePrice(900);
+		store.save(stored);
+
+		assertThat(ids(index.ascending())).containsExactly("b", "a");
+		assertThat(index.range(null, 150.0)).isEmpty();
+		store.close();
+	}
+
+	@Test
+	void nanKeysAreLeftOut() throws Exception {
+		EntityStore<Vendor> store = vendorStore();
+		SortedEntityIndex<Vendor> index = new SortedEntityIndex<>(
+				vendor -> vendor.getServiceRadius() != null ? vendor.getServiceRadius() : Double.NaN);
+		store.addListener(index);
+		Vendor vendor = vendor("a", 100);
+		vendor.setServiceRadius(5.0);
+		store.save(vendor);
+		store.save(vendor("b", 100));
+		assertThat(ids(index.ascending())).containsExactly("a");
+
+		store.update("a", stored -> {
+			stored.setServiceRadius(null);
+			return stored;
+		});
+		assertThat(index.size()).isZero();
+		store.close();
+	}
+
+	private EntityStore<Vendor> vendorStore() {
+		return new EntityStore<>(dataDir.resolve("vendors.json").toString(), new ObjectMapper(),
+				new TypeReference<List<Vendor>>() {}, Vendor::getId, StorageMode.JOURNAL);
+	}
+
+	private static Vendor vendor(String id, double basePrice) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setBasePrice(basePrice);
+		return vendor;
+	}
+
+	private static List<String> ids(List<Vendor> vendors) {
+		return vendors.stream().map(Vendor::getId).toList();
+	}
+}
@@ -0,0 +1,16 @@
+package com.se1020.backend.repository.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedLockTest {
+
+	@Test
+	void locksOfSeveralKeysComeInOneOrderWithoutRepeats() {
+		StripedLock locks = new StripedLock(64);
+
+		assertThat(locks.getAll("vendor-1", "vendor-2")).containsExactlyElementsOf(locks.getAll("vendor-2", "vendor-1"));
+		assertThat(locks.getAll("vendor-1", "vendor-1")).containsExactly(locks.get("vendor-1"));
+	}
+}
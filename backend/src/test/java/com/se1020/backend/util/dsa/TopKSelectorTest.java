@@ -0,0 +1,36 @@
+package com.se1020.backend.util.dsa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+	@Test
+	void matchesTheHeadOfAFullSort() {
+		Random random = new Random(7);
+		for (int n = 0; n < 200; n += 13) {
+			List<Integer> items = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				items.add(random.nextInt(50));
+			}
+			List<Integer> sorted = new ArrayList<>(items);
+			sorted.sort(Collections.reverseOrder());
+			for (int k : new int[] {1, 5, 40, 500}) {
+				assertThat(TopKSelector.top(items, k, Comparator.naturalOrder()))
+						.containsExactlyElementsOf(sorted.subList(0, Math.min(k, n)));
+			}
+		}
+	}
+
+	@Test
+	void nonPositiveKSelectsNothing() {
+		assertThat(TopKSelector.top(List.of(3, 1, 2), 0, Comparator.naturalOrder())).isEmpty();
+	}
+}
@@ -0,0 +1,86 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Who is free" searches on a VendorAvailabilityCalendar holding a catalog where
+ * every third vendor has a restricted availability and there are two confirmed
+ * bookings per vendor.
+ *
+ * Run with: mvn test-compile, then run main() from the IDE, or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main VendorAvailabilityBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorAvailabilityBenchmark {
+
+	private static final LocalDate START = LocalDate.of(2025, 1, 1);
+	private static final int DAYS = 3 * 366;
+
+	@Param({"10000", "100000"})
+	int vendorCount;
+
+	VendorAvailabilityCalendar calendar;
+	LocalDate day;
+
+	@Setup
+	public void setUp() {
+		calendar = new VendorAvailabilityCalendar(START, DAYS);
+		Random random = new Random(42);
+		List<Vendor> vendors = VendorLinkedListBenchmark.syntheticVendors(vendorCount);
+		for (int i = 0; i < vendors.size(); i++) {
+			Vendor vendor = vendors.get(i);
+			if (i % 3 == 0) {
+				LocalDate open = START.plusDays(random.nextInt(DAYS - 200));
+				vendor.getAvailability().add(open + "/" + open.plusDays(180));
+			}
+			calendar.putVendor(vendor);
+			for (int b = 0; b < 2; b++) {
+				calendar.putBooking(vendor.getId() + "-" + b, vendor.getId(), START.plusDays(random.nextInt(DAYS)));
+			}
+		}
+		day = START.plusDays(400);
+	}
+
+	@Benchmark
+	public List<String> singleDayOneType() {
+		return calendar.findFree(VendorType.VENUE, day, day);
+	}
+
+	@Benchmark
+	public List<String> weekAllTypes() {
+		return calendar.findFree(null, day, day.plusDays(6));
+	}
+
+	@Benchmark
+	public List<String> monthOneType() {
+		return calendar.findFree(VendorType.PHOTOGRAPHY, day, day.plusDays(29));
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(VendorAvailabilityBenchmark.class.getSimpleName()).build()).run();
+	}
+}
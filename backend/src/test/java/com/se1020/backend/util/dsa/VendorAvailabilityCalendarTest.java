@@ -0,0 +1,121 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VendorAvailabilityCalendarTest {
+
+	private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+	@Test
+	void emptyAvailabilityMeansOpenEveryDay() {
+		VendorAvailabilityCalendar calendar = new VendorAvailabilityCalendar(START, 365);
+		calendar.putVendor(vendor("v1", VendorType.VENUE, "APPROVED"));
+		calendar.putVendor(vendor("v2", VendorType.VENUE, "PENDING"));
+		calendar.putVendor(vendor("v3", VendorType.MUSIC, "APPROVED"));
+
+		assertThat(calendar.findFree(VendorType.VENUE, START, START.plusDays(30))).containsExactly("v1");
+		assertThat(calendar.findFree(null, START, START)).containsExactly("v1", "v3");
+	}
+
+	@Test
+	void listedDaysAndRangesRestrictTheVendor() {
+		VendorAvailabilityCalendar calendar = new VendorAvailabilityCalendar(START, 365);
+		calendar.putVendor(vendor("v1", VendorType.VENUE, "APPROVED", "2025-03-01/2025-03-10", "2025-03-15", "weekends"));
+
+		LocalDate march = LocalDate.of(2025, 3, 1);
+		assertThat(calendar.findFree(VendorType.VENUE, march, march.plusDays(9))).containsExactly("v1");
+		assertThat(calendar.findFree(VendorType.VENUE, march.plusDays(14), march.plusDays(14))).containsExactly("v1");
+		assertThat(calendar.findFree(VendorType.VENUE, march.plusDays(9), march.plusDays(10))).isEmpty();
+		assertThat(calendar.findFree(VendorType.VENUE, START, START)).isEmpty();
+	}
+
+	@Test
+	void confirmedBookingsTakeTheDayUntilRemoved() {
+		VendorAvailabilityCalendar calendar = new VendorAvailabilityCalendar(START, 365);
+		LocalDate day = LocalDate.of(2025, 6, 1);
+		calendar.putBooking("b1", "v1", day);
+		calendar.putVendor(vendor("v1", VendorType.VENUE, "APPROVED"));
+		calendar.putBooking("b2", "v1", day);
+
+		assertThat(calendar.findFree(VendorType.VENUE, day, day)).isEmpty();
+		assertThat(calendar.findFree(VendorType.VENUE, day.plusDays(1), day.plusDays(1))).containsExactly("v1");
+
+		calendar.removeBooking("b1");
+		assertThat(calendar.findFree(VendorType.VENUE, day, day)).isEmpty();
+		calendar.putBooking("b2", "v1", day.plusDays(1));
+		assertThat(calendar.findFree(VendorType.VENUE, day, day)).containsExactly("v1");
+		assertThat(calendar.findFree(VendorType.VENUE, day.plusDays(1), day.plusDays(1))).isEmpty();
+	}
+
+	@Test
+	void removedVendorsDropOutAndFreeTheirSlot() {
+		VendorAvailabilityCalendar calendar = new VendorAvailabilityCalendar(START, 365);
+		calendar.putVendor(vendor("v1", VendorType.VENUE, "APPROVED"));
+		calendar.removeVendor("v1");
+		calendar.putVendor(vendor("v2", VendorType.VENUE, "APPROVED"));
+
+		assertThat(calendar.findFree(VendorType.VENUE, START, START)).containsExactly("v2");
+	}
+
+	@Test
+	void datesOutsideTheHorizonAreRejected() {
+		VendorAvailabilityCalendar calendar = new VendorAvailabilityCalendar(START, 365);
+		assertThatThrownBy(() -> calendar.findFree(null, START.minusDays(1), START))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> calendar.findFree(null, START, START.plusDays(365)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void advancingTheHorizonKeepsBookingsAndFillsTheNewDays() {
+		VendorAvailabilityCalendar calendar = new VendorAvailabilityCalendar(START, 10);
+		calendar.putVendor(vendor("v1", VendorType.VENUE, "APPROVED", "2025-01-01/2025-01-20"));
+		calendar.putVendor(vendor("v2", VendorType.VENUE, "APPROVED"));
+		calendar.putBooking("kept", "v2", START.plusDays(8));
+		calendar.putBooking("later", "v2", START.plusDays(12));
+		calendar.putBooking("passed", "v2", START.plusDays(1));
+
+		calendar.advanceTo(START.plusDays(5));
+		assertThat(calendar.getFirstDay()).isEqualTo(START.plusDays(5));
+		assertThat(calendar.getLastDay()).isEqualTo(START.plusDays(14));
+		assertThat(calendar.findFree(VendorType.VENUE, START.plusDays(8), START.plusDays(8))).containsExactly("v1");
+		assertThat(calendar.findFree(VendorType.VENUE, START.plusDays(12), START.plusDays(12)))
+				.containsExactly("v1");
+		assertThat(calendar.findFree(VendorType.VENUE, START.plusDays(13), START.plusDays(14)))
+				.containsExactly("v1", "v2");
+		assertThatThrownBy(() -> calendar.findFree(null, START.plusDays(4), START.plusDays(4)))
+				.isInstanceOf(IllegalArgumentException.class);
+
+		// v1 only works until the 20th, which the horizon now passes
+		calendar.advanceTo(START.plusDays(15));
+		assertThat(calendar.findFree(VendorType.VENUE, START.plusDays(19), START.plusDays(19)))
+				.containsExactly("v1", "v2");
+		assertThat(calendar.findFree(VendorType.VENUE, START.plusDays(20), START.plusDays(24)))
+				.containsExactly("v2");
+
+		// A jump past the whole horizon starts it empty
+		calendar.advanceTo(START.plusDays(100));
+		calendar.advanceTo(START);
+		assertThat(calendar.getFirstDay()).isEqualTo(START.plusDays(100));
+		assertThat(calendar.findFree(VendorType.VENUE, START.plusDays(100), START.plusDays(109)))
+				.containsExactly("v2");
+	}
+
+	private static Vendor vendor(String id, VendorType type, String status, String... availability) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setVendorType(type);
+		vendor.setStatus(status);
+		vendor.setAvailability(new ArrayList<>(List.of(availability)));
+		return vendor;
+	}
+}
@@ -0,0 +1,101 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-N bundle search over a synthetic catalog with vendorsPerType vendors in
+ * each of the five categories, on the common pool and on a single worker.
+ *
+ * Run with: mvn test-compile, then run main() from the IDE, or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main VendorBundleBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorBundleBenchmark {
+
+	@Param({"10000", "50000"})
+	int vendorsPerType;
+
+	@Param({"250000", "1000000"})
+	double budget;
+
+	@Param({"10"})
+	int limit;
+
+	List<List<Vendor>> categories;
+	VendorBundleOptimizer parallel;
+	VendorBundleOptimizer singleWorker;
+	ForkJoinPool singleWorkerPool;
+
+	@Setup
+	public void setUp() {
+		List<Vendor> vendors = VendorLinkedListBenchmark.syntheticVendors(vendorsPerType * VendorType.values().length);
+		categories = new ArrayList<>();
+		for (VendorType vendorType : VendorType.values()) {
+			List<Vendor> category = new ArrayList<>(vendorsPerType);
+			for (Vendor vendor : vendors) {
+				if (vendor.getVendorType() == vendorType) {
+					category.add(vendor);
+				}
+			}
+			categories.add(category);
+		}
+		parallel = new VendorBundleOptimizer(ForkJoinPool.commonPool(), VendorBundleOptimizer.DEFAULT_PRICE_STEPS);
+		singleWorkerPool = new ForkJoinPool(1);
+		singleWorker = new VendorBundleOptimizer(singleWorkerPool, VendorBundleOptimizer.DEFAULT_PRICE_STEPS);
+	}
+
+	@TearDown
+	public void tearDown() {
+		singleWorkerPool.shutdown();
+	}
+
+	@Benchmark
+	public List<VendorBundle> optimize() {
+		return parallel.optimize(categories, budget, limit);
+	}
+
+	@Benchmark
+	public List<VendorBundle> optimizeSingleWorker() {
+		return singleWorker.optimize(categories, budget, limit);
+	}
+
+	// The pruning pass alone, to separate it from the dynamic programming
+	@Benchmark
+	public int frontiers() {
+		int size = 0;
+		for (List<Vendor> category : categories) {
+			size += VendorBundleOptimizer.frontier(category, limit, budget).size();
+		}
+		return size;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(VendorBundleBenchmark.class.getSimpleName()).build()).run();
+	}
+}
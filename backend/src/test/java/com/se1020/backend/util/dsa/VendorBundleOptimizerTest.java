@@ -0,0 +1,130 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorBundle;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VendorBundleOptimizerTest {
+
+	private final VendorBundleOptimizer optimizer = new VendorBundleOptimizer(ForkJoinPool.commonPool(), 1000);
+
+	@Test
+	void frontierDropsVendorsBeatenByEnoughCheaperOnes() {
+		List<Vendor> category = List.of(
+				vendor("a", 100, 4.0),
+				vendor("b", 200, 3.0),
+				vendor("c", 150, 4.5),
+				vendor("d", 300, 4.5),
+				vendor("e", 400, 5.0),
+				vendor("f", 5000, 5.0));
+
+		assertThat(ids(VendorBundleOptimizer.frontier(category, 1, 1000))).containsExactly("a", "c", "e");
+		assertThat(ids(VendorBundleOptimizer.frontier(category, 2, 1000))).containsExactly("a", "c", "d", "e");
+	}
+
+	@Test
+	void noBundleWhenACategoryHasNothingInBudget() {
+		List<List<Vendor>> categories = List.of(List.of(vendor("a", 100, 4.0)), List.of(vendor("b", 2000, 4.0)));
+		assertThat(optimizer.optimize(categories, 1000, 3)).isEmpty();
+		assertThat(optimizer.optimize(categories, 2100, 0)).isEmpty();
+	}
+
+	@Test
+	void matchesExhaustiveSearch() {
+		Random random = new Random(17);
+		for (int round = 0; round < 30; round++) {
+			List<List<Vendor>> categories = new ArrayList<>();
+			int categoryCount = 2 + random.nextInt(3);
+			for (int k = 0; k < categoryCount; k++) {
+				List<Vendor> category = new ArrayList<>();
+				int size = 1 + random.nextInt(8);
+				for (int i = 0; i < size; i++) {
+					category.add(vendor("v" + k + "-" + i, random.nextInt(400), random.nextInt(51) / 10.0));
+				}
+				categories.add(category);
+			}
+			// Integer prices with one-unit steps make the rounding exact
+			int limit = 1 + random.nextInt(6);
+			List<VendorBundle> bundles = optimizer.optimize(categories, 1000, limit);
+
+			List<double[]> all = new ArrayList<>();
+			enumerate(categories, 0, 0, 0, all);
+			all.removeIf(bundle -> bundle[1] > 1000);
+			all.sort(Comparator.comparingDouble((double[] bundle) -> -bundle[0]).thenComparingDouble(bundle -> bundle[1]));
+
+			assertThat(bundles).hasSize(Math.min(limit, all.size()));
+			for (int i = 0; i < bundles.size(); i++) {
+				VendorBundle bundle = bundles.get(i);
+				assertThat(bundle.getVendors()).hasSize(categoryCount);
+				assertThat(bundle.getAverageRating() * categoryCount).isCloseTo(all.get(i)[0], within(1e-9));
+				assertThat(bundle.getTotalPrice()).isCloseTo(all.get(i)[1], within(1e-9));
+				double price = 0;
+				for (int k = 0; k < categoryCount; k++) {
+					assertThat(categories.get(k)).contains(bundle.getVendors().get(k));
+					price += bundle.getVendors().get(k).getBasePrice();
+				}
+				assertThat(price).isEqualTo(bundle.getTotalPrice());
+			}
+		}
+	}
+
+	@Test
+	void roundedPricesNeverExceedTheBudget() {
+		Random random = new Random(3);
+		List<List<Vendor>> categories = new ArrayList<>();
+		for (int k = 0; k < 5; k++) {
+			List<Vendor> category = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				category.add(vendor("v" + k + "-" + i, 1000 + random.nextDouble() * 99_000, random.nextInt(51) / 10.0));
+			}
+			categories.add(category);
+		}
+		VendorBundleOptimizer coarse = new VendorBundleOptimizer(ForkJoinPool.commonPool(), 50);
+
+		List<VendorBundle> bundles = coarse.optimize(categories, 250_000, 10);
+
+		assertThat(bundles).hasSize(10);
+		for (int i = 0; i < bundles.size(); i++) {
+			assertThat(bundles.get(i).getTotalPrice()).isLessThanOrEqualTo(250_000);
+			if (i > 0) {
+				assertThat(bundles.get(i).getAverageRating()).isLessThanOrEqualTo(bundles.get(i - 1).getAverageRating());
+			}
+		}
+	}
+
+	private static void enumerate(List<List<Vendor>> categories, int k, double score, double price,
+			List<double[]> bundles) {
+		if (k == categories.size()) {
+			bundles.add(new double[] {score, price});
+			return;
+		}
+		for (Vendor vendor : categories.get(k)) {
+			enumerate(categories, k + 1, score + vendor.getRating(), price + vendor.getBasePrice(), bundles);
+		}
+	}
+
+	private static Vendor vendor(String id, double price, double rating) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setBasePrice(price);
+		vendor.setRating(rating);
+		return vendor;
+	}
+
+	private static List<String> ids(List<Vendor> vendors) {
+		List<String> ids = new ArrayList<>();
+		for (Vendor vendor : vendors) {
+			ids.add(vendor.getId());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,55 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorFacetCounterTest {
+
+	@Test
+	void bucketsArePlacedOnTheirLowerBound() {
+		assertThat(VendorFacetCounter.priceBucket(0)).isEqualTo("0-25000");
+		assertThat(VendorFacetCounter.priceBucket(24_999.99)).isEqualTo("0-25000");
+		assertThat(VendorFacetCounter.priceBucket(25_000)).isEqualTo("25000-50000");
+		assertThat(VendorFacetCounter.priceBucket(1_000_000)).isEqualTo("250000+");
+		assertThat(VendorFacetCounter.ratingBucket(0)).isEqualTo("0-1");
+		assertThat(VendorFacetCounter.ratingBucket(3.99)).isEqualTo("3-4");
+		assertThat(VendorFacetCounter.ratingBucket(5.0)).isEqualTo("4-5");
+	}
+
+	@Test
+	void maintainedCountsMatchARecount() {
+		VendorFacetCounter counter = new VendorFacetCounter();
+		Map<String, Vendor> current = new HashMap<>();
+		Random random = new Random(11);
+		VendorType[] types = VendorType.values();
+		String[] statuses = {"PENDING", "APPROVED", "REJECTED"};
+		for (int round = 0; round < 3000; round++) {
+			String id = "v" + random.nextInt(200);
+			if (random.nextInt(5) == 0) {
+				counter.removeVendor(id);
+				current.remove(id);
+			} else {
+				Vendor vendor = new Vendor();
+				vendor.setId(id);
+				vendor.setVendorType(types[random.nextInt(types.length)]);
+				vendor.setStatus(statuses[random.nextInt(statuses.length)]);
+				vendor.setBasePrice(random.nextInt(400_000));
+				vendor.setRating(random.nextInt(51) / 10.0);
+				counter.putVendor(vendor);
+				current.put(id, vendor);
+			}
+		}
+
+		Map<String, Map<String, Long>> counts = counter.getCounts();
+		assertThat(counts).isEqualTo(VendorFacetCounter.count(current.values()));
+		assertThat(counts.get(VendorFacetCounter.TYPE).values().stream().mapToLong(Long::longValue).sum())
+				.isEqualTo(current.size());
+	}
+}
@@ -0,0 +1,106 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load time of a VendorLinkedList versus vendor count.
+ *
+ * Run with: mvn test-compile, then run main() from the IDE, or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main VendorLinkedListBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorLinkedListBenchmark {
+
+	@Param({"1000", "10000", "50000"})
+	int vendorCount;
+
+	List<Vendor> vendors;
+	String json;
+
+	@Setup
+	public void setUp() throws Exception {
+		vendors = syntheticVendors(vendorCount);
+		json = VendorLinkedList.fromVendors(vendors).toJson();
+	}
+
+	@Benchmark
+	public VendorLinkedList bulkBuild() {
+		return VendorLinkedList.fromVendors(vendors);
+	}
+
+	@Benchmark
+	public VendorLinkedList addVendorLoop() {
+		VendorLinkedList list = new VendorLinkedList();
+		for (Vendor vendor : vendors) {
+			list.addVendor(vendor);
+		}
+		return list;
+	}
+
+	@Benchmark
+	public VendorLinkedList fromJson() throws Exception {
+		return VendorLinkedList.fromJson(json);
+	}
+
+	// The append loop the list used before it had a tail pointer: walk from the head every time
+	@Benchmark
+	public VendorNode headWalkAppendBaseline() {
+		VendorNode head = null;
+		for (Vendor vendor : vendors) {
+			VendorNode node = new VendorNode(vendor);
+			if (head == null) {
+				head = node;
+			} else {
+				VendorNode current = head;
+				while (current.getNext() != null) {
+					current = current.getNext();
+				}
+				current.setNext(node);
+			}
+		}
+		return head;
+	}
+
+	static List<Vendor> syntheticVendors(int count) {
+		VendorType[] types = VendorType.values();
+		List<Vendor> vendors = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Vendor vendor = new Vendor();
+			vendor.setId("vendor-" + i);
+			vendor.setName("Vendor " + i);
+			vendor.setVendorType(types[i % types.length]);
+			vendor.setBasePrice(1000 + (i * 7919L) % 100_000);
+			vendor.setRating((i * 31 % 50) / 10.0);
+			vendor.setStatus("APPROVED");
+			vendors.add(vendor);
+		}
+		return vendors;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(VendorLinkedListBenchmark.class.getSimpleName()).build()).run();
+	}
+}
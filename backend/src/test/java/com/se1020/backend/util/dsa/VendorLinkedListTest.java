@@ -0,0 +1,112 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorLinkedListTest {
+
+	@Test
+	void removingTheHeadTheTailOrTheOnlyNodeKeepsTheLinks() {
+		VendorLinkedList list = listOf("a", "b", "c", "d");
+
+		list.removeVendor("a");
+		assertChain(list, "b", "c", "d");
+		list.removeVendor("d");
+		assertChain(list, "b", "c");
+		list.removeVendor("b");
+		assertChain(list, "c");
+		list.removeVendor("c");
+		assertChain(list);
+
+		list.addVendor(vendor("e", 1));
+		assertChain(list, "e");
+	}
+
+	@Test
+	void removingAMiddleNodeOrAnUnknownIdLeavesTheRestIntact() {
+		VendorLinkedList list = listOf("a", "b", "c");
+
+		list.removeVendor("b");
+		list.removeVendor("missing");
+		list.removeVendor("b");
+
+		assertChain(list, "a", "c");
+		assertThat(list.getVendorById("b")).isNull();
+	}
+
+	@Test
+	void addingAListedIdReplacesItAtTheEnd() {
+		VendorLinkedList list = listOf("a", "b", "c");
+		Vendor replacement = vendor("a", 99);
+
+		list.addVendor(replacement);
+
+		assertChain(list, "b", "c", "a");
+		assertThat(list.getVendorById("a")).isSameAs(replacement);
+	}
+
+	@Test
+	void bulkBuildKeepsTheLastOfDuplicateIdsInTheirLastPosition() {
+		Vendor latest = vendor("a", 2);
+
+		VendorLinkedList list = VendorLinkedList.fromVendors(
+				List.of(vendor("a", 1), vendor("b", 0), latest, vendor("c", 0)));
+
+		assertChain(list, "b", "a", "c");
+		assertThat(list.getVendorById("a")).isSameAs(latest);
+	}
+
+	@Test
+	void appendsAfterABulkBuildGoToTheTail() {
+		VendorLinkedList list = VendorLinkedList.fromVendors(List.of(vendor("a", 0), vendor("b", 0)));
+		list.addVendor(vendor("c", 0));
+		assertChain(list, "a", "b", "c");
+
+		VendorLinkedList empty = VendorLinkedList.fromVendors(List.of());
+		assertChain(empty);
+		empty.addVendor(vendor("a", 0));
+		assertChain(empty, "a");
+	}
+
+	@Test
+	void jsonRoundTripKeepsOrderAndIndex() throws Exception {
+		VendorLinkedList list = VendorLinkedList.fromJson(listOf("a", "b", "c").toJson());
+
+		assertChain(list, "a", "b", "c");
+	}
+
+	// Walks the chain both ways and checks size, tail and the id index against it
+	private static void assertChain(VendorLinkedList list, String... ids) {
+		assertThat(list.getSize()).isEqualTo(ids.length);
+		assertThat(list.toArray()).extracting(Vendor::getId).containsExactly(ids);
+		VendorNode previous = null;
+		for (VendorNode node = list.getHead(); node != null; node = node.getNext()) {
+			assertThat(node.getPrev()).isSameAs(previous);
+			assertThat(list.getVendorById(node.getVendor().getId())).isSameAs(node.getVendor());
+			previous = node;
+		}
+		assertThat(list.getTail()).isSameAs(previous);
+		if (ids.length == 0) {
+			assertThat(list.getHead()).isNull();
+		}
+	}
+
+	private static VendorLinkedList listOf(String... ids) {
+		VendorLinkedList list = new VendorLinkedList();
+		for (String id : ids) {
+			list.addVendor(vendor(id, 0));
+		}
+		return list;
+	}
+
+	private static Vendor vendor(String id, double price) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setBasePrice(price);
+		return vendor;
+	}
+}
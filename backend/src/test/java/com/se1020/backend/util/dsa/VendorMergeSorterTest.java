@@ -0,0 +1,62 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorMergeSorterTest {
+
+	@Test
+	void sortsStablyAndKeepsTheListConsistent() {
+		Random random = new Random(3);
+		List<Vendor> vendors = new ArrayList<>();
+		for (int i = 0; i < 37; i++) {
+			vendors.add(vendor("v" + i, "name", random.nextInt(5) * 100));
+		}
+		List<Vendor> expected = new ArrayList<>(vendors);
+		expected.sort(VendorMergeSorter.BY_PRICE);
+
+		VendorLinkedList list = VendorMergeSorter.sort(VendorLinkedList.fromVendors(vendors), VendorMergeSorter.BY_PRICE);
+
+		assertThat(list.toArray()).containsExactlyElementsOf(expected);
+		assertThat(list.getSize()).isEqualTo(37);
+		VendorNode previous = null;
+		for (VendorNode node = list.getHead(); node != null; node = node.getNext()) {
+			assertThat(node.getPrev()).isSameAs(previous);
+			assertThat(list.getVendorById(node.getVendor().getId())).isSameAs(node.getVendor());
+			previous = node;
+		}
+		assertThat(list.getTail()).isSameAs(previous);
+	}
+
+	@Test
+	void ordersNamesIgnoringCaseWithMissingNamesLast() {
+		VendorLinkedList list = VendorLinkedList.fromVendors(List.of(
+				vendor("a", null, 0), vendor("b", "delta", 0), vendor("c", "Alpha", 0), vendor("d", "charlie", 0)));
+
+		VendorMergeSorter.sort(list, VendorMergeSorter.BY_NAME);
+
+		assertThat(list.toArray()).extracting(Vendor::getId).containsExactly("c", "d", "b", "a");
+	}
+
+	@Test
+	void leavesShortListsAlone() {
+		VendorLinkedList single = VendorLinkedList.fromVendors(List.of(vendor("a", "a", 1)));
+		assertThat(VendorMergeSorter.sort(single, VendorMergeSorter.BY_PRICE).getHead().getVendor().getId())
+				.isEqualTo("a");
+		assertThat(VendorMergeSorter.sort(new VendorLinkedList(), VendorMergeSorter.BY_PRICE).getSize()).isZero();
+	}
+
+	private static Vendor vendor(String id, String name, double price) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setName(name);
+		vendor.setBasePrice(price);
+		return vendor;
+	}
+}
@@ -0,0 +1,77 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency distribution (see the p0.99 rows) of VendorNameTrie for the
+ * prefixes a user produces while typing a name, with and without typo tolerance.
+ *
+ * Run with: mvn test-compile, then run main() from the IDE, or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main VendorNameTrieBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorNameTrieBenchmark {
+
+	private static final String[] WORDS = {"golden", "lens", "studio", "royal", "garden", "floral", "beats",
+			"catering", "kitchen", "palace", "dream", "events", "photo", "magic", "lanka", "colombo"};
+
+	@Param({"10000", "100000"})
+	int vendorCount;
+
+	VendorNameTrie trie;
+	String[] prefixes;
+	int next;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		trie = new VendorNameTrie();
+		List<Vendor> vendors = VendorLinkedListBenchmark.syntheticVendors(vendorCount);
+		for (Vendor vendor : vendors) {
+			vendor.setBusinessName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+					+ " " + vendor.getId());
+			trie.putVendor(vendor);
+		}
+		prefixes = new String[256];
+		for (int i = 0; i < prefixes.length; i++) {
+			String word = WORDS[random.nextInt(WORDS.length)];
+			prefixes[i] = word.substring(0, 1 + random.nextInt(word.length()));
+		}
+	}
+
+	@Benchmark
+	public List<Vendor> suggest() {
+		return trie.suggest(prefixes[next++ & 255], 10, false);
+	}
+
+	@Benchmark
+	public List<Vendor> suggestWithTypoTolerance() {
+		return trie.suggest(prefixes[next++ & 255] + "x", 10, true);
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(VendorNameTrieBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,86 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorNameTrieTest {
+
+	@Test
+	void suggestsBestRatedVendorsForAnyWordPrefix() {
+		VendorNameTrie trie = new VendorNameTrie();
+		trie.putVendor(vendor("v1", "Golden Lens", "Golden Lens Studio", 4.0));
+		trie.putVendor(vendor("v2", "Lens Craft", null, 4.5));
+		trie.putVendor(vendor("v3", "Gold Leaf Decor", null, 3.0));
+
+		assertThat(ids(trie.suggest("gol", 10, false))).containsExactly("v1", "v3");
+		assertThat(ids(trie.suggest("LENS", 10, false))).containsExactly("v2", "v1");
+		assertThat(ids(trie.suggest("studio", 10, false))).containsExactly("v1");
+		assertThat(ids(trie.suggest("golden lens s", 10, false))).containsExactly("v1");
+		assertThat(trie.suggest("x", 10, false)).isEmpty();
+	}
+
+	@Test
+	void toleratesOneTypoAfterTheExactMatches() {
+		VendorNameTrie trie = new VendorNameTrie();
+		trie.putVendor(vendor("v1", "Photo Magic", null, 3.0));
+		trie.putVendor(vendor("v2", "Photon Lights", null, 5.0));
+		trie.putVendor(vendor("v3", "Potluck Catering", null, 4.0));
+
+		assertThat(ids(trie.suggest("phtoo", 10, true))).containsExactly("v2", "v1");
+		assertThat(ids(trie.suggest("pgoto", 10, true))).containsExactly("v2", "v1");
+		assertThat(ids(trie.suggest("photon", 10, true))).containsExactly("v2", "v1");
+		assertThat(ids(trie.suggest("phooto", 10, true))).containsExactly("v2", "v1");
+		assertThat(ids(trie.suggest("phtoo", 10, false))).isEmpty();
+	}
+
+	@Test
+	void updatesAndRemovalsKeepEveryListExact() {
+		VendorNameTrie trie = new VendorNameTrie();
+		Random random = new Random(3);
+		String[] words = {"alpha", "alps", "alto", "beta", "bet", "gamma"};
+		Map<String, Vendor> current = new HashMap<>();
+		for (int round = 0; round < 2000; round++) {
+			String id = "v" + random.nextInt(40);
+			if (random.nextInt(4) == 0) {
+				trie.removeVendor(id);
+				current.remove(id);
+			} else {
+				Vendor vendor = vendor(id, words[random.nextInt(words.length)] + " "
+						+ words[random.nextInt(words.length)], null, random.nextInt(50) / 10.0);
+				trie.putVendor(vendor);
+				current.put(id, vendor);
+			}
+		}
+		// Build from scratch with the final state and compare every prefix
+		VendorNameTrie fresh = new VendorNameTrie();
+		for (Vendor vendor : current.values()) {
+			fresh.putVendor(vendor);
+		}
+		for (String word : words) {
+			for (int length = 1; length <= word.length(); length++) {
+				String prefix = word.substring(0, length);
+				assertThat(ids(trie.suggest(prefix, 10, false))).isEqualTo(ids(fresh.suggest(prefix, 10, false)));
+			}
+		}
+	}
+
+	private static Vendor vendor(String id, String name, String businessName, double rating) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setName(name);
+		vendor.setBusinessName(businessName);
+		vendor.setRating(rating);
+		return vendor;
+	}
+
+	private static List<String> ids(List<Vendor> vendors) {
+		return vendors.stream().map(Vendor::getId).toList();
+	}
+}
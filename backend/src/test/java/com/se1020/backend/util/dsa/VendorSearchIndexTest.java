@@ -0,0 +1,67 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VendorSearchIndexTest {
+
+	@Test
+	void everyTokenMustMatchAWordOrAPrefix() {
+		VendorSearchIndex index = new VendorSearchIndex();
+		index.putVendor(vendor("v1", "Golden Lens", "Golden Lens Studio", VendorType.PHOTOGRAPHY, "12 Galle Road, Colombo", 4.0));
+		index.putVendor(vendor("v2", "Colombo Beats", "Beats & Co", VendorType.MUSIC, "Kandy", 3.0));
+		index.putVendor(vendor("v3", "Lens Craft", null, VendorType.PHOTOGRAPHY, "Kandy", 5.0));
+
+		assertThat(ids(index.search("lens", 10))).containsExactlyInAnyOrder("v1", "v3");
+		assertThat(ids(index.search("colombo photo", 10))).containsExactly("v1");
+		assertThat(ids(index.search("  BEA  ", 10))).containsExactly("v2");
+		assertThat(index.search("lens music", 10)).isEmpty();
+		assertThat(index.search("", 10)).isEmpty();
+	}
+
+	@Test
+	void wholeWordsAndStrongerFieldsRankFirstAndRatingBreaksTies() {
+		VendorSearchIndex index = new VendorSearchIndex();
+		index.putVendor(vendor("address", "Floral Touch", null, VendorType.DECORATION, "Kandy Road", 5.0));
+		index.putVendor(vendor("prefix", "Kandyan Dancers", null, VendorType.MUSIC, "Galle", 5.0));
+		index.putVendor(vendor("name-low", "Kandy Caterers", null, VendorType.CATERING, "Galle", 2.0));
+		index.putVendor(vendor("name-high", "Kandy Kitchen", null, VendorType.CATERING, "Galle", 4.5));
+
+		assertThat(ids(index.search("kandy", 10))).containsExactly("name-high", "name-low", "prefix", "address");
+		assertThat(ids(index.search("kandy", 2))).containsExactly("name-high", "name-low");
+	}
+
+	@Test
+	void updatesAndDeletesReplaceOldTerms() {
+		VendorSearchIndex index = new VendorSearchIndex();
+		index.putVendor(vendor("v1", "Old Name", null, VendorType.VENUE, "", 0));
+		index.putVendor(vendor("v1", "New Name", null, VendorType.VENUE, "", 0));
+
+		assertThat(index.search("old", 10)).isEmpty();
+		assertThat(ids(index.search("new", 10))).containsExactly("v1");
+
+		index.removeVendor("v1");
+		assertThat(index.search("name", 10)).isEmpty();
+	}
+
+	private static Vendor vendor(String id, String name, String businessName, VendorType type, String address,
+			double rating) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setName(name);
+		vendor.setBusinessName(businessName);
+		vendor.setVendorType(type);
+		vendor.setAddress(address);
+		vendor.setRating(rating);
+		return vendor;
+	}
+
+	private static List<String> ids(List<Vendor> vendors) {
+		return vendors.stream().map(Vendor::getId).toList();
+	}
+}
@@ -0,0 +1,89 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.model.Vendor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VendorMergeSorter against the bubble sort it replaced, sorting the same
+ * shuffled catalog by price. The bubble sort is kept here only as the baseline.
+ *
+ * Run with: mvn test-compile, then run main() from the IDE, or
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main VendorSortBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorSortBenchmark {
+
+	@Param({"1000", "5000", "10000"})
+	int vendorCount;
+
+	List<Vendor> shuffled;
+	VendorLinkedList vendors;
+
+	@Setup(Level.Trial)
+	public void createCatalog() {
+		shuffled = VendorLinkedListBenchmark.syntheticVendors(vendorCount);
+		Collections.shuffle(shuffled, new Random(42));
+	}
+
+	// Both sorters work in place, so every call gets a fresh unsorted list
+	@Setup(Level.Invocation)
+	public void resetList() {
+		vendors = VendorLinkedList.fromVendors(shuffled);
+	}
+
+	@Benchmark
+	public VendorLinkedList mergeSortByPrice() {
+		return VendorMergeSorter.sort(vendors, VendorMergeSorter.BY_PRICE);
+	}
+
+	@Benchmark
+	public VendorLinkedList bubbleSortByPrice() {
+		return bubbleSortByPrice(vendors);
+	}
+
+	@Benchmark
+	public VendorLinkedList mergeSortByRatingDescending() {
+		return VendorMergeSorter.sort(vendors, VendorMergeSorter.BY_RATING.reversed());
+	}
+
+	// The sorter VendorMergeSorter replaced: swaps vendors between nodes in O(n^2)
+	private static VendorLinkedList bubbleSortByPrice(VendorLinkedList vendors) {
+		for (VendorNode current = vendors.getHead(); current != null; current = current.getNext()) {
+			for (VendorNode next = current.getNext(); next != null; next = next.getNext()) {
+				if (current.getVendor().getBasePrice() > next.getVendor().getBasePrice()) {
+					Vendor temp = current.getVendor();
+					current.setVendor(next.getVendor());
+					next.setVendor(temp);
+				}
+			}
+		}
+		return vendors;
+	}
+
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder().include(VendorSortBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,80 @@
+package com.se1020.backend.util.dsa;
+
+import com.se1020.backend.enums.VendorType;
+import com.se1020.backend.model.Vendor;
+import com.se1020.backend.model.VendorRecommendation;
+import com.se1020.backend.util.geo.GeoPoint;
+import com.se1020.backend.util.geo.ServiceAreaIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WeddingVendorScorerTest {
+
+	private static final GeoPoint WEDDING = new GeoPoint(6.9271, 79.8612);
+
+	@Test
+	void budgetFitIsFullWithinTheCategoryBudgetAndFallsOffAbove() {
+		assertThat(WeddingVendorScorer.budgetFit(100_000, 60_000)).isEqualTo(1.0);
+		assertThat(WeddingVendorScorer.budgetFit(100_000, 100_000)).isEqualTo(1.0);
+		assertThat(WeddingVendorScorer.budgetFit(100_000, 200_000)).isCloseTo(0.25, within(1e-9));
+		assertThat(WeddingVendorScorer.budgetFit(0, 200_000)).isEqualTo(WeddingVendorScorer.NEUTRAL);
+	}
+
+	@Test
+	void unknownDateAndLocationAreNeutral() {
+		WeddingVendorScorer scorer = new WeddingVendorScorer(1_000_000, null, null);
+		Vendor venue = vendor("v1", VendorType.VENUE, 300_000, 4.0);
+
+		VendorRecommendation recommendation = scorer.score(venue);
+
+		assertThat(scorer.budgetFor(VendorType.VENUE)).isEqualTo(400_000);
+		assertThat(recommendation.getAvailable()).isNull();
+		assertThat(recommendation.getDistanceKm()).isNull();
+		assertThat(recommendation.getScore()).isCloseTo(
+				WeddingVendorScorer.BUDGET_WEIGHT + WeddingVendorScorer.RATING_WEIGHT * 0.8
+						+ WeddingVendorScorer.LOCATION_WEIGHT * WeddingVendorScorer.NEUTRAL, within(1e-9));
+	}
+
+	@Test
+	void vendorsThatAreBookedOrOutOfRangeAreLeftOut() {
+		ServiceAreaIndex<Vendor> areas = new ServiceAreaIndex<>();
+		Vendor near = vendor("near", VendorType.MUSIC, 10_000, 3.0);
+		Vendor edge = vendor("edge", VendorType.MUSIC, 10_000, 3.0);
+		Vendor far = vendor("far", VendorType.MUSIC, 10_000, 5.0);
+		Vendor booked = vendor("booked", VendorType.MUSIC, 10_000, 5.0);
+		areas.put("near", near, WEDDING, 20);
+		areas.put("edge", edge, new GeoPoint(7.0, 79.8612), 10);
+		areas.put("far", far, new GeoPoint(7.2906, 80.6337), 20);
+		areas.put("booked", booked, WEDDING, 20);
+		Map<String, ServiceAreaIndex.Match<Vendor>> covering = new HashMap<>();
+		for (ServiceAreaIndex.Match<Vendor> match : areas.covering(WEDDING)) {
+			covering.put(match.getValue().getId(), match);
+		}
+		WeddingVendorScorer scorer = new WeddingVendorScorer(500_000, Set.of("near", "edge", "far"), covering);
+
+		assertThat(scorer.score(far)).isNull();
+		assertThat(scorer.score(booked)).isNull();
+		VendorRecommendation nearScore = scorer.score(near);
+		VendorRecommendation edgeScore = scorer.score(edge);
+		assertThat(nearScore.getAvailable()).isTrue();
+		assertThat(nearScore.getDistanceKm()).isZero();
+		assertThat(edgeScore.getDistanceKm()).isCloseTo(8.1, within(0.1));
+		assertThat(nearScore.getScore()).isGreaterThan(edgeScore.getScore());
+	}
+
+	private static Vendor vendor(String id, VendorType type, double price, double rating) {
+		Vendor vendor = new Vendor();
+		vendor.setId(id);
+		vendor.setVendorType(type);
+		vendor.setBasePrice(price);
+		vendor.setRating(rating);
+		vendor.setStatus("APPROVED");
+		return vendor;
+	}
+}
@@ -0,0 +1,107 @@
+package com.se1020.backend.util.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ServiceAreaIndexTest {
+
+	private static final GeoPoint COLOMBO = new GeoPoint(6.9271, 79.8612);
+	private static final GeoPoint KANDY = new GeoPoint(7.2906, 80.6337);
+
+	@Test
+	void haversineDistanceBetweenTowns() {
+		assertThat(COLOMBO.distanceKm(KANDY)).isCloseTo(94.5, within(1.0));
+		assertThat(COLOMBO.distanceKm(COLOMBO)).isZero();
+	}
+
+	@Test
+	void findsOnlyAreasThatCoverThePointNearestFirst() {
+		ServiceAreaIndex<String> index = new ServiceAreaIndex<>();
+		index.put("colombo", "colombo", COLOMBO, 20);
+		index.put("kandy", "kandy", KANDY, 20);
+		index.put("island", "island", KANDY, 500);
+		index.put("nearKandy", "nearKandy", new GeoPoint(7.30, 80.64), 5);
+
+		assertThat(values(index.covering(new GeoPoint(7.29, 80.63))))
+				.containsExactly("kandy", "island", "nearKandy");
+		assertThat(values(index.covering(COLOMBO))).containsExactly("colombo", "island");
+
+		index.put("kandy", "kandy", KANDY, 1);
+		index.remove("island");
+		assertThat(values(index.covering(new GeoPoint(7.20, 80.60)))).isEmpty();
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void areasAcrossTheAntimeridianAreFound() {
+		ServiceAreaIndex<String> index = new ServiceAreaIndex<>();
+		index.put("fiji", "fiji", new GeoPoint(-17.0, 179.9), 50);
+		assertThat(values(index.covering(new GeoPoint(-17.0, -179.9)))).containsExactly("fiji");
+	}
+
+	@Test
+	void matchesAFullScan() {
+		ServiceAreaIndex<String> index = new ServiceAreaIndex<>();
+		Map<String, double[]> areas = new HashMap<>();
+		Random random = new Random(5);
+		for (int round = 0; round < 4000; round++) {
+			String id = "v" + random.nextInt(500);
+			if (random.nextInt(6) == 0) {
+				index.remove(id);
+				areas.remove(id);
+			} else {
+				double[] area = {5.9 + random.nextDouble() * 4, 79.6 + random.nextDouble() * 2.3,
+						random.nextInt(10) == 0 ? 300 : random.nextDouble() * 60};
+				index.put(id, id, new GeoPoint(area[0], area[1]), area[2]);
+				areas.put(id, area);
+			}
+		}
+
+		for (int query = 0; query < 300; query++) {
+			GeoPoint point = new GeoPoint(5.9 + random.nextDouble() * 4, 79.6 + random.nextDouble() * 2.3);
+			List<String> expected = new ArrayList<>();
+			for (Map.Entry<String, double[]> area : areas.entrySet()) {
+				double[] disc = area.getValue();
+				if (new GeoPoint(disc[0], disc[1]).distanceKm(point) <= disc[2]) {
+					expected.add(area.getKey());
+				}
+			}
+			List<ServiceAreaIndex.Match<String>> matches = index.covering(point);
+			assertThat(values(matches)).containsExactlyInAnyOrderElementsOf(expected);
+			for (int i = 1; i < matches.size(); i++) {
+				assertThat(matches.get(i).getDistanceKm()).isGreaterThanOrEqualTo(matches.get(i - 1).getDistanceKm());
+			}
+		}
+	}
+
+	@Test
+	void geocodeTableMatchesTheLongestPlaceNameInAnAddress() throws Exception {
+		String csv = "# test table\nkandy,7.2906,80.6337\nmount lavinia,6.8390,79.8630\nlavinia,1,1\nja-ela,7.0744,79.8919\n";
+		GeocodeTable table = GeocodeTable.fromCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(table.size()).isEqualTo(4);
+		assertThat(table.locate("12 Temple Rd, Mount  Lavinia").getLatitude()).isEqualTo(6.8390);
+		assertThat(table.locate("Queens Hotel, KANDY").getLongitude()).isEqualTo(80.6337);
+		assertThat(table.locate("Ja-Ela")).isNotNull();
+		assertThat(table.locate("Kandyan Arts, Galle")).isNull();
+		assertThat(table.locate(null)).isNull();
+	}
+
+	private static List<String> values(List<ServiceAreaIndex.Match<String>> matches) {
+		List<String> values = new ArrayList<>();
+		for (ServiceAreaIndex.Match<String> match : matches) {
+			values.add(match.getValue());
+		}
+		return values;
+	}
+}